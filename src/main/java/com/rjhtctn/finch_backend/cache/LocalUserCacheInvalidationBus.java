@@ -0,0 +1,26 @@
+package com.rjhtctn.finch_backend.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/** Delivers invalidations synchronously to the subscribers of this process. */
+@Component
+@ConditionalOnProperty(name = "finch.cache.invalidation-bus", havingValue = "local", matchIfMissing = true)
+public class LocalUserCacheInvalidationBus implements UserCacheInvalidationBus {
+
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UUID userId) {
+        listeners.forEach(listener -> listener.accept(userId));
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+}
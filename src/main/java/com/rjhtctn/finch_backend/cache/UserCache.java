@@ -0,0 +1,104 @@
+package com.rjhtctn.finch_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Bounded in-process cache of {@link UserSnapshot}s by id, plus the username and email of each cached user
+ * mapped to its id. Entries expire after a fixed time as a safety net; writes invalidate them through the
+ * {@link UserCacheInvalidationBus}, once right away and again after commit so a read racing the write
+ * cannot put the old row back. Hit and miss counts are published as {@code cache.gets} metrics.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<UUID, UserSnapshot> byId;
+    private final Cache<String, UUID> idsByKey;
+    private final UserCacheInvalidationBus invalidationBus;
+
+    public UserCache(UserCacheInvalidationBus invalidationBus,
+                     MeterRegistry meterRegistry,
+                     @Value("${finch.cache.users.max-size:20000}") long maxSize,
+                     @Value("${finch.cache.users.ttl-seconds:600}") long ttlSeconds) {
+        this.invalidationBus = invalidationBus;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idsByKey = Caffeine.newBuilder()
+                .maximumSize(maxSize * 2)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByKey, "user-keys");
+        invalidationBus.subscribe(this::evict);
+    }
+
+    public UserSnapshot get(UUID userId) {
+        return byId.getIfPresent(userId);
+    }
+
+    /** Id of the user with this username or email, if that user is cached. */
+    public UUID idOf(String usernameOrEmail) {
+        return idsByKey.getIfPresent(key(usernameOrEmail));
+    }
+
+    /**
+     * Response for a user that may be an uninitialized reference, such as the far side of a follow. Only a
+     * cache miss initializes it.
+     */
+    public UserResponseDto toUserResponse(User user) {
+        UserSnapshot cached = byId.getIfPresent(user.getId());
+        return (cached != null ? cached : put(user)).toUserResponse();
+    }
+
+    public UserSnapshot put(User user) {
+        UserSnapshot snapshot = UserSnapshot.of(user);
+        byId.put(snapshot.id(), snapshot);
+        idsByKey.put(key(snapshot.username()), snapshot.id());
+        if (snapshot.email() != null) idsByKey.put(key(snapshot.email()), snapshot.id());
+        return snapshot;
+    }
+
+    /** Drops the user on every node now and, inside a transaction, once more after it commits. */
+    public void invalidate(UUID userId) {
+        invalidationBus.publish(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publish(userId);
+                }
+            });
+        }
+    }
+
+    /** Forgets a key whose user no longer matches it, e.g. an email that was changed. */
+    public void forget(String usernameOrEmail) {
+        idsByKey.invalidate(key(usernameOrEmail));
+    }
+
+    private void evict(UUID userId) {
+        UserSnapshot previous = byId.asMap().remove(userId);
+        if (previous == null) return;
+        idsByKey.asMap().remove(key(previous.username()), userId);
+        if (previous.email() != null) idsByKey.asMap().remove(key(previous.email()), userId);
+    }
+
+    private static String key(String usernameOrEmail) {
+        return usernameOrEmail.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,16 @@
+package com.rjhtctn.finch_backend.cache;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Carries user cache invalidations to every node, including the one that published them. The local
+ * implementation only reaches the current process; a deployment with several nodes plugs in one backed
+ * by a shared broker.
+ */
+public interface UserCacheInvalidationBus {
+
+    void publish(UUID userId);
+
+    void subscribe(Consumer<UUID> listener);
+}
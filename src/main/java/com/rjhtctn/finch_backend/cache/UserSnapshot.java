@@ -0,0 +1,55 @@
+package com.rjhtctn.finch_backend.cache;
+
+import com.rjhtctn.finch_backend.dto.user.UserProfileResponseDto;
+import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.model.User;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Immutable copy of the public user fields, safe to share between requests unlike the entity. */
+public record UserSnapshot(UUID id,
+                           String username,
+                           String email,
+                           String firstName,
+                           String lastName,
+                           String bio,
+                           String location,
+                           String website,
+                           String profileImageUrl,
+                           String bannerImageUrl,
+                           LocalDateTime createdAt,
+                           boolean isPrivate) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getBio(), user.getLocation(), user.getWebsite(),
+                user.getProfileImageUrl(), user.getBannerImageUrl(), user.getCreatedAt(), user.isPrivate());
+    }
+
+    public UserResponseDto toUserResponse() {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setId(id);
+        dto.setUsername(username);
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setProfileImageUrl(profileImageUrl);
+        dto.setPrivate(isPrivate);
+        return dto;
+    }
+
+    public UserProfileResponseDto toUserProfileResponse() {
+        UserProfileResponseDto dto = new UserProfileResponseDto();
+        dto.setId(id);
+        dto.setUsername(username);
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setBio(bio);
+        dto.setLocation(location);
+        dto.setWebsite(website);
+        dto.setProfileImageUrl(profileImageUrl);
+        dto.setBannerImageUrl(bannerImageUrl);
+        dto.setCreatedAt(createdAt);
+        dto.setPrivate(isPrivate);
+        return dto;
+    }
+}
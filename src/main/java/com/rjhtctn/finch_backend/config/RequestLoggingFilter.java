@@ -32,6 +32,14 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         this.jwtService = jwtService;
     }
 
+    /** Event streams stay open for minutes and must not be buffered by the response wrapper. */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return request.getRequestURI().equals("/api/feed/stream")
+                || (accept != null && accept.contains("text/event-stream"));
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
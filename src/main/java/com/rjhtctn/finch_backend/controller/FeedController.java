@@ -1,33 +1,72 @@
 package com.rjhtctn.finch_backend.controller;
 
-import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
+import com.rjhtctn.finch_backend.push.FeedSubscriptionRegistry;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.FeedService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/feed")
 public class FeedController {
 
     private final FeedService feedService;
+    private final FeedSubscriptionRegistry feedSubscriptionRegistry;
 
-    public FeedController(FeedService feedService) {
+    public FeedController(FeedService feedService,
+                          FeedSubscriptionRegistry feedSubscriptionRegistry) {
         this.feedService = feedService;
+        this.feedSubscriptionRegistry = feedSubscriptionRegistry;
     }
 
     @GetMapping("/global")
-    public ResponseEntity<List<FinchResponseDto>> getGlobalFeed(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(feedService.getGlobalFeed(userDetails));
+    public ResponseEntity<FeedPageResponseDto> getGlobalFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthUser principal,
+            WebRequest request) {
+        String etag = cursor == null ? feedService.getGlobalFeedETag(principal, since, size) : null;
+        if (etag != null && request.checkNotModified(etag)) return null;
+        return withETag(etag, feedService.getGlobalFeed(principal, cursor, since, size));
     }
 
     @GetMapping("/following")
-    public ResponseEntity<List<FinchResponseDto>> getFollowingFeed(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(feedService.getFollowingFeed(userDetails));
+    public ResponseEntity<FeedPageResponseDto> getFollowingFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthUser principal,
+            WebRequest request) {
+        String etag = cursor == null ? feedService.getFollowingFeedETag(principal, since, size) : null;
+        if (etag != null && request.checkNotModified(etag)) return null;
+        return withETag(etag, feedService.getFollowingFeed(principal, cursor, since, size));
+    }
+
+    @GetMapping("/for-you")
+    public ResponseEntity<FeedPageResponseDto> getForYouFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(feedService.getForYouFeed(principal, cursor, size));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFollowingFeed(@AuthenticationPrincipal AuthUser principal) {
+        return feedSubscriptionRegistry.subscribe(principal.getId());
+    }
+
+    private static ResponseEntity<FeedPageResponseDto> withETag(String etag, FeedPageResponseDto page) {
+        if (etag == null) return ResponseEntity.ok(page);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(page);
     }
-}
\ No newline at end of file
+}
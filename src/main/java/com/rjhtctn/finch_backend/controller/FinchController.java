@@ -1,9 +1,11 @@
 package com.rjhtctn.finch_backend.controller;
 
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
 import com.rjhtctn.finch_backend.dto.finch.CreateFinchRequestDto;
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
 import com.rjhtctn.finch_backend.dto.finch.UpdateFinchRequestDto;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.FinchService;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
@@ -11,7 +13,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
@@ -31,7 +32,7 @@ public class FinchController {
     public ResponseEntity<FinchResponseDto> createFinch(
             @ParameterObject @ModelAttribute @Valid CreateFinchRequestDto dto,
             @RequestPart(value = "image", required = false) List<MultipartFile> images,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
         boolean hasText = dto.getContent() != null && !dto.getContent().isBlank();
         boolean hasImage = images != null && !images.isEmpty();
@@ -41,15 +42,25 @@ public class FinchController {
         }
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(finchService.createFinch(dto,images, userDetails));
+                .body(finchService.createFinch(dto,images, principal));
     }
 
     @GetMapping("/{finchId}")
     public ResponseEntity<FinchResponseDto> getFinchById(
             @PathVariable UUID finchId,
             @RequestParam(defaultValue = "2") int depth,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(finchService.getFinchById(finchId, userDetails, depth));
+            @RequestParam(defaultValue = "20") int fanout,
+            @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(finchService.getFinchById(finchId, principal, depth, fanout));
+    }
+
+    @GetMapping("/{finchId}/replies")
+    public ResponseEntity<FeedPageResponseDto> getReplies(
+            @PathVariable UUID finchId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(finchService.getReplies(finchId, principal, cursor, size));
     }
 
     @PutMapping(value = "/{finchId}", consumes = "multipart/form-data")
@@ -57,16 +68,16 @@ public class FinchController {
             @PathVariable UUID finchId,
             @ParameterObject @ModelAttribute @Valid UpdateFinchRequestDto dto,
             @RequestPart(value = "newImages", required = false) List<MultipartFile> newImages,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthUser principal
     ) {
-        return ResponseEntity.ok(finchService.updateFinch(finchId, dto, newImages, userDetails));
+        return ResponseEntity.ok(finchService.updateFinch(finchId, dto, newImages, principal));
     }
 
     @DeleteMapping("/{finchId}")
     public ResponseEntity<Void> deleteFinch(
             @PathVariable UUID finchId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        finchService.deleteFinch(finchId, userDetails);
+            @AuthenticationPrincipal AuthUser principal) {
+        finchService.deleteFinch(finchId, principal);
         return ResponseEntity.noContent().build();
     }
 
@@ -75,8 +86,8 @@ public class FinchController {
             @PathVariable UUID parentId,
             @ParameterObject @ModelAttribute @Valid CreateFinchRequestDto dto,
             @RequestPart(value = "image", required = false) List<MultipartFile> images,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(finchService.replyToFinch(parentId, dto, images, userDetails));
+            @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(finchService.replyToFinch(parentId, dto, images, principal));
     }
 
     @PostMapping(value = "/{finchId}/quote", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -84,8 +95,8 @@ public class FinchController {
             @PathVariable UUID finchId,
             @ParameterObject @ModelAttribute @Valid CreateFinchRequestDto dto,
             @RequestPart(value = "image", required = false) List<MultipartFile> images,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(finchService.quoteFinch(finchId, dto, images, userDetails));
+            @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(finchService.quoteFinch(finchId, dto, images, principal));
     }
 
     @GetMapping("/{finchId}/likes")
@@ -1,10 +1,10 @@
 package com.rjhtctn.finch_backend.controller;
 
 import com.rjhtctn.finch_backend.dto.follow.FollowRequestDto;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.FollowService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,9 +20,9 @@ public class FollowController {
     @PostMapping
     public ResponseEntity<String> followUser(
             @RequestBody FollowRequestDto request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        String result = followService.followUser(request.getUsername(), userDetails);
+        String result = followService.followUser(request.getUsername(), principal);
 
         if ("requested".equals(result)) {
             return ResponseEntity.ok("Follow request sent to private user: " + request.getUsername());
@@ -34,18 +34,18 @@ public class FollowController {
     @DeleteMapping("/{username}")
     public ResponseEntity<String> unfollowUser(
             @PathVariable String username,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        followService.unfollowUser(username, userDetails);
+        followService.unfollowUser(username, principal);
         return ResponseEntity.ok("Successfully unfollowed user: " + username);
     }
 
     @DeleteMapping("/remove-follower/{username}")
     public ResponseEntity<String> removeFollower(
             @PathVariable String username,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        followService.removeFollower(userDetails, username);
+        followService.removeFollower(principal, username);
         return ResponseEntity.ok("Removed " + username + " from your followers.");
     }
 }
\ No newline at end of file
@@ -2,11 +2,11 @@ package com.rjhtctn.finch_backend.controller;
 
 import com.rjhtctn.finch_backend.dto.follow.FollowRequestResponseDto;
 import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.FollowRequestService;
 import com.rjhtctn.finch_backend.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.UUID;
@@ -37,15 +37,15 @@ public class FollowRequestController {
 
     @GetMapping("/pending")
     public ResponseEntity<List<FollowRequestResponseDto>> getPendingRequests(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User receiver = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+            @AuthenticationPrincipal AuthUser principal) {
+        User receiver = userService.getCurrentUser(principal);
         return ResponseEntity.ok(followRequestService.getPendingRequests(receiver));
     }
 
     @GetMapping("/requests/accepted")
     public ResponseEntity<List<FollowRequestResponseDto>> getAcceptedRequests(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User receiver = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+            @AuthenticationPrincipal AuthUser principal) {
+        User receiver = userService.getCurrentUser(principal);
         return ResponseEntity.ok(followRequestService.getAcceptedRequests(receiver));
     }
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package com.rjhtctn.finch_backend.controller;
 
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.LikeService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import java.util.UUID;
 
@@ -20,18 +20,18 @@ public class LikeController {
     @PostMapping
     public ResponseEntity<String> likeFinch(
             @PathVariable UUID finchId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        likeService.likeFinch(finchId, userDetails);
+        likeService.likeFinch(finchId, principal);
         return ResponseEntity.ok("Finch liked successfully.");
     }
 
     @DeleteMapping
     public ResponseEntity<String> unlikeFinch(
             @PathVariable UUID finchId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        likeService.unlikeFinch(finchId, userDetails);
+        likeService.unlikeFinch(finchId, principal);
         return ResponseEntity.ok("Finch unliked successfully.");
     }
 }
\ No newline at end of file
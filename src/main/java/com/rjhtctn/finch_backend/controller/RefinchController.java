@@ -1,11 +1,11 @@
 package com.rjhtctn.finch_backend.controller;
 
 import com.rjhtctn.finch_backend.model.ReFinch;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.RefinchService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,20 +23,20 @@ public class RefinchController {
 
     @PostMapping("/{finchId}")
     public ResponseEntity<String> repost(@PathVariable UUID finchId,
-                                         @AuthenticationPrincipal UserDetails userDetails) {
-        refinchService.repostFinch(finchId, userDetails);
+                                         @AuthenticationPrincipal AuthUser principal) {
+        refinchService.repostFinch(finchId, principal);
         return ResponseEntity.ok("Reposted successfully.");
     }
 
     @DeleteMapping("/{finchId}")
     public ResponseEntity<String> removeRepost(@PathVariable UUID finchId,
-                                               @AuthenticationPrincipal UserDetails userDetails) {
-        refinchService.removeRepost(finchId, userDetails);
+                                               @AuthenticationPrincipal AuthUser principal) {
+        refinchService.removeRepost(finchId, principal);
         return ResponseEntity.ok("Repost removed.");
     }
 
     @GetMapping
-    public List<ReFinch> getAllRepostByUser(@NotNull @AuthenticationPrincipal UserDetails userDetails) {
-        return (refinchService.getAllRepostsByUser(userDetails.getUsername()));
+    public List<ReFinch> getAllRepostByUser(@NotNull @AuthenticationPrincipal AuthUser principal) {
+        return (refinchService.getAllRepostsByUser(principal.getUsername()));
     }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.rjhtctn.finch_backend.controller;
 
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
 import com.rjhtctn.finch_backend.dto.search.CombinedSearchResponseDto;
+import com.rjhtctn.finch_backend.dto.search.SearchPageResponseDto;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,8 +13,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/search")
@@ -24,27 +26,65 @@ public class SearchController {
     @GetMapping("/users")
     public ResponseEntity<Page<UserResponseDto>> searchUsers(
             @RequestParam("q") String query,
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthUser principal,
             @PageableDefault(size = 10, sort = "username", direction = Sort.Direction.ASC) Pageable pageable
     ) {
-        return ResponseEntity.ok(searchService.searchUsers(query, userDetails, pageable));
+        return ResponseEntity.ok(searchService.searchUsers(query, principal, pageable));
     }
 
     @GetMapping("/finches")
     public ResponseEntity<Page<FinchResponseDto>> searchFinches(
             @RequestParam("q") String query,
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthUser principal,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        return ResponseEntity.ok(searchService.searchFinches(query, userDetails, pageable));
+        return ResponseEntity.ok(searchService.searchFinches(query, principal, pageable));
+    }
+
+    @GetMapping("/users/typeahead")
+    public ResponseEntity<List<UserResponseDto>> typeahead(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "8") int limit,
+            @AuthenticationPrincipal AuthUser principal
+    ) {
+        return ResponseEntity.ok(searchService.typeahead(prefix, principal, limit));
+    }
+
+    @GetMapping("/users/ranked")
+    public ResponseEntity<SearchPageResponseDto<UserResponseDto>> searchUsersRanked(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal AuthUser principal
+    ) {
+        return ResponseEntity.ok(searchService.searchUsersRanked(query, principal, cursor, size));
+    }
+
+    @GetMapping("/finches/ranked")
+    public ResponseEntity<SearchPageResponseDto<FinchResponseDto>> searchFinchesRanked(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal AuthUser principal
+    ) {
+        return ResponseEntity.ok(searchService.searchFinchesRanked(query, principal, cursor, size));
+    }
+
+    @GetMapping("/finches/fuzzy")
+    public ResponseEntity<Page<FinchResponseDto>> searchFinchesFuzzy(
+            @RequestParam("q") String query,
+            @AuthenticationPrincipal AuthUser principal,
+            @PageableDefault(size = 10) Pageable pageable
+    ) {
+        return ResponseEntity.ok(searchService.searchFinchesFuzzy(query, principal, pageable));
     }
 
     @GetMapping("/all")
     public ResponseEntity<CombinedSearchResponseDto> searchAll(
             @RequestParam("q") String query,
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthUser principal,
             @PageableDefault(size = 5, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        return ResponseEntity.ok(searchService.searchAll(query, userDetails, pageable));
+        return ResponseEntity.ok(searchService.searchAll(query, principal, pageable));
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.rjhtctn.finch_backend.controller;
+
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import com.rjhtctn.finch_backend.service.TagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tag")
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagService tagService;
+
+    @GetMapping("/{tag}")
+    public ResponseEntity<FeedPageResponseDto> getTagTimeline(
+            @PathVariable String tag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(tagService.getTagTimeline(tag, principal, cursor, size));
+    }
+}
@@ -0,0 +1,23 @@
+package com.rjhtctn.finch_backend.controller;
+
+import com.rjhtctn.finch_backend.dto.trending.TrendingFinchDto;
+import com.rjhtctn.finch_backend.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/trending")
+@RequiredArgsConstructor
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    @GetMapping
+    public ResponseEntity<List<TrendingFinchDto>> getTrendingFinches(
+            @RequestParam(defaultValue = "hour") String window,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingFinches(window, limit));
+    }
+}
@@ -1,14 +1,16 @@
 package com.rjhtctn.finch_backend.controller;
 
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
 import com.rjhtctn.finch_backend.dto.user.*;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import com.rjhtctn.finch_backend.service.TagService;
 import com.rjhtctn.finch_backend.service.UserService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,9 +21,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final TagService tagService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TagService tagService) {
         this.userService = userService;
+        this.tagService = tagService;
     }
 
     @GetMapping("/{username}")
@@ -39,112 +43,120 @@ public class UserController {
     @PutMapping("/me/profile")
     public ResponseEntity<UserMeResponseDto> updateUserProfile(
             @RequestBody UpdateUserProfileRequestDto request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        UserMeResponseDto updatedUser = userService.updateUserProfile(userDetails.getUsername(), request);
+        UserMeResponseDto updatedUser = userService.updateUserProfile(principal, request);
         return ResponseEntity.ok(updatedUser);
     }
 
     @PutMapping(value ="/me/profile-photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<UserMeResponseDto> updateUserProfilePhoto(
             @RequestPart(value = "image", required = false) MultipartFile image,
-            @AuthenticationPrincipal  UserDetails userDetails) {
+            @AuthenticationPrincipal  AuthUser principal) {
 
-        UserMeResponseDto updatedUser = userService.updateProfileImage(userDetails, image);
+        UserMeResponseDto updatedUser = userService.updateProfileImage(principal, image);
         return ResponseEntity.ok(updatedUser);
     }
 
     @PutMapping(value = "/me/banner-photo",  consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<UserMeResponseDto> updateUserProfileBanner(
             @RequestPart(value = "image", required = false) MultipartFile image,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        UserMeResponseDto updatedUser = userService.updateBannerImage(userDetails, image);
+        UserMeResponseDto updatedUser = userService.updateBannerImage(principal, image);
         return ResponseEntity.ok(updatedUser);
     }
 
     @PutMapping("/me/email")
     public void updateUserProfileEmail(
             @RequestBody @Email ChangeEmailRequestDto request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthUser principal) {
 
-        userService.changeEmail(userDetails, request);
+        userService.changeEmail(principal, request);
     }
 
     @DeleteMapping("/me")
-    public ResponseEntity<Void> deleteUser(@AuthenticationPrincipal UserDetails userDetails) {
-        userService.deleteUser(userDetails);
+    public ResponseEntity<Void> deleteUser(@AuthenticationPrincipal AuthUser principal) {
+        userService.deleteUser(principal);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserMeResponseDto> getMyProfile(@AuthenticationPrincipal UserDetails userDetails) {
-        UserMeResponseDto myProfile = userService.getMyProfile(userDetails);
+    public ResponseEntity<UserMeResponseDto> getMyProfile(@AuthenticationPrincipal AuthUser principal) {
+        UserMeResponseDto myProfile = userService.getMyProfile(principal);
 
         return ResponseEntity.ok(myProfile);
     }
 
     @PutMapping("/me/password")
     public ResponseEntity<String> changePassword(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthUser principal,
             @Valid @RequestBody ChangePasswordRequestDto request) {
 
-        userService.changePassword(userDetails, request);
+        userService.changePassword(principal, request);
         return ResponseEntity.ok("Password changed successfully.");
     }
 
     @GetMapping("/me/finch")
-    public ResponseEntity<List<FinchResponseDto>> getMyFinches(@AuthenticationPrincipal UserDetails userDetails){
-        List <FinchResponseDto> myFinches = userService.getMyFinches(userDetails);
+    public ResponseEntity<List<FinchResponseDto>> getMyFinches(@AuthenticationPrincipal AuthUser principal){
+        List <FinchResponseDto> myFinches = userService.getMyFinches(principal);
         return ResponseEntity.ok(myFinches);
     }
 
     @GetMapping("/{username}/finch")
     public ResponseEntity<List<FinchResponseDto>> getFinchesOfUser(@PathVariable String username,
-                                                                   @AuthenticationPrincipal UserDetails userDetails) {
-        List<FinchResponseDto> finches = userService.getFinchesOfUser(username, userDetails);
+                                                                   @AuthenticationPrincipal AuthUser principal) {
+        List<FinchResponseDto> finches = userService.getFinchesOfUser(username, principal);
         return ResponseEntity.ok(finches);
     }
 
+    @GetMapping("/{username}/mentions")
+    public ResponseEntity<FeedPageResponseDto> getMentions(@PathVariable String username,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(tagService.getMentions(username, principal, cursor, size));
+    }
+
     @GetMapping("/{username}/followers")
     public ResponseEntity<List<UserResponseDto>> getFollowers(@PathVariable String username,
-                                                              @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(userService.getFollowers(username, userDetails));
+                                                              @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(userService.getFollowers(username, principal));
     }
 
     @GetMapping("/{username}/following")
     public ResponseEntity<List<UserResponseDto>> getFollowing(@PathVariable String username,
-                                                              @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(userService.getFollowing(username, userDetails));
+                                                              @AuthenticationPrincipal AuthUser principal) {
+        return ResponseEntity.ok(userService.getFollowing(username, principal));
     }
 
     @GetMapping("/me/followers")
-    public ResponseEntity<List<UserResponseDto>> getMyFollowers(@AuthenticationPrincipal UserDetails userDetails) {
-        List<UserResponseDto> followers = userService.getMyFollowers(userDetails);
+    public ResponseEntity<List<UserResponseDto>> getMyFollowers(@AuthenticationPrincipal AuthUser principal) {
+        List<UserResponseDto> followers = userService.getMyFollowers(principal);
         return ResponseEntity.ok(followers);
     }
 
     @GetMapping("/me/following")
-    public ResponseEntity<List<UserResponseDto>> getMyFollowing(@AuthenticationPrincipal UserDetails userDetails) {
-        List<UserResponseDto> following = userService.getMyFollowing(userDetails);
+    public ResponseEntity<List<UserResponseDto>> getMyFollowing(@AuthenticationPrincipal AuthUser principal) {
+        List<UserResponseDto> following = userService.getMyFollowing(principal);
         return ResponseEntity.ok(following);
     }
 
     @GetMapping("/me/liked_finches")
-    public ResponseEntity<List<FinchResponseDto>> getLikedFinches(@AuthenticationPrincipal UserDetails userDetails) {
-        List<FinchResponseDto> likedFinches = userService.getMyLikedFinches(userDetails);
+    public ResponseEntity<List<FinchResponseDto>> getLikedFinches(@AuthenticationPrincipal AuthUser principal) {
+        List<FinchResponseDto> likedFinches = userService.getMyLikedFinches(principal);
         return ResponseEntity.ok(likedFinches);
     }
 
     @PostMapping("/set-private")
-    public ResponseEntity<String> setPrivate(@AuthenticationPrincipal UserDetails userDetails) {
-        userService.setPrivateUser(userDetails);
+    public ResponseEntity<String> setPrivate(@AuthenticationPrincipal AuthUser principal) {
+        userService.setPrivateUser(principal);
         return ResponseEntity.ok("Private user has been set successfully.");
     }
 
     @PostMapping("/set-public")
-    public ResponseEntity<String> setPublic(@AuthenticationPrincipal UserDetails userDetails) {
-        userService.setPublicUser(userDetails);
+    public ResponseEntity<String> setPublic(@AuthenticationPrincipal AuthUser principal) {
+        userService.setPublicUser(principal);
         return ResponseEntity.ok("Public user has been set successfully.");
     }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.rjhtctn.finch_backend.counter;
+
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for the like and repost counters of hot finches. Writers only touch striped
+ * {@link LongAdder} cells; the database sees one UPDATE per finch and counter per flush, issued in id order
+ * inside a single transaction. Flushes run on a fixed interval, as soon as the number of buffered writes
+ * crosses the threshold, and once more on shutdown.
+ *
+ * <p>Entries that stayed empty for a whole flush are unlinked and drained once more on the following flush,
+ * so a writer that looked the entry up just before it was unlinked still has its delta applied.
+ */
+@Slf4j
+@Component
+public class EngagementCounterBuffer {
+
+    private final FinchRepository finchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushThreshold;
+
+    private final Map<UUID, Deltas> pending = new ConcurrentHashMap<>();
+    private final AtomicLong bufferedWrites = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ExecutorService thresholdFlusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "counter-buffer-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private List<Deltas> retiring = new ArrayList<>();
+    private volatile boolean closed;
+
+    public EngagementCounterBuffer(FinchRepository finchRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${finch.counters.flush-threshold:5000}") long flushThreshold) {
+        this.finchRepository = finchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushThreshold = flushThreshold;
+    }
+
+    /** Returns false once the buffer is shut down; the caller must then write through. */
+    public boolean addLikes(UUID finchId, long delta) {
+        if (closed) return false;
+        pending.computeIfAbsent(finchId, Deltas::new).likes.add(delta);
+        afterWrite();
+        return true;
+    }
+
+    public boolean addReposts(UUID finchId, long delta) {
+        if (closed) return false;
+        pending.computeIfAbsent(finchId, Deltas::new).reposts.add(delta);
+        afterWrite();
+        return true;
+    }
+
+    public boolean isBuffered(UUID finchId) {
+        return pending.containsKey(finchId);
+    }
+
+    @Scheduled(fixedDelayString = "${finch.counters.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            bufferedWrites.set(0);
+            Map<UUID, long[]> batch = new TreeMap<>();
+
+            for (Deltas deltas : retiring) deltas.drainInto(batch);
+            retiring = new ArrayList<>();
+
+            pending.forEach((id, deltas) -> {
+                if (!deltas.drainInto(batch) && pending.remove(id, deltas)) retiring.add(deltas);
+            });
+
+            if (!batch.isEmpty()) apply(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Writes the deltas in their own transaction, bypassing the buffer. */
+    public void applyNow(UUID finchId, long likeDelta, long repostDelta) {
+        Map<UUID, long[]> batch = new TreeMap<>();
+        batch.put(finchId, new long[]{likeDelta, repostDelta});
+        apply(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        thresholdFlusher.shutdown();
+        try {
+            thresholdFlusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        flush();
+        log.info("Engagement counter buffer flushed on shutdown.");
+    }
+
+    private void afterWrite() {
+        if (bufferedWrites.incrementAndGet() < flushThreshold || closed) return;
+        if (flushQueued.compareAndSet(false, true)) {
+            thresholdFlusher.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void apply(Map<UUID, long[]> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((id, delta) -> {
+                if (delta[0] != 0) finchRepository.adjustLikeCount(id, delta[0]);
+                if (delta[1] != 0) finchRepository.adjustRepostCount(id, delta[1]);
+            }));
+        } catch (RuntimeException e) {
+            log.error("Failed to flush counters for {} finches, requeueing.", batch.size(), e);
+            batch.forEach((id, delta) -> {
+                Deltas deltas = pending.computeIfAbsent(id, Deltas::new);
+                deltas.likes.add(delta[0]);
+                deltas.reposts.add(delta[1]);
+            });
+        }
+    }
+
+    private static final class Deltas {
+        private final UUID finchId;
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder reposts = new LongAdder();
+
+        private Deltas(UUID finchId) {
+            this.finchId = finchId;
+        }
+
+        private boolean drainInto(Map<UUID, long[]> batch) {
+            long likeDelta = likes.sumThenReset();
+            long repostDelta = reposts.sumThenReset();
+            if (likeDelta == 0 && repostDelta == 0) return false;
+
+            long[] delta = batch.computeIfAbsent(finchId, id -> new long[2]);
+            delta[0] += likeDelta;
+            delta[1] += repostDelta;
+            return true;
+        }
+    }
+}
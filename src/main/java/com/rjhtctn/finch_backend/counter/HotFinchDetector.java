@@ -0,0 +1,53 @@
+package com.rjhtctn.finch_backend.counter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts counter writes per finch over a short fixed window. A finch that reaches the threshold within one
+ * window stays hot for the hold period after its last hot window, so bursty traffic does not flap between
+ * the buffered and the direct write path.
+ */
+@Component
+public class HotFinchDetector {
+
+    private final long threshold;
+    private final long holdMillis;
+    private volatile Map<UUID, LongAdder> window = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> hotUntil = new ConcurrentHashMap<>();
+
+    public HotFinchDetector(@Value("${finch.counters.hot-threshold:20}") long threshold,
+                            @Value("${finch.counters.hot-hold-ms:30000}") long holdMillis) {
+        this.threshold = threshold;
+        this.holdMillis = holdMillis;
+    }
+
+    /** Records one write against the finch and reports whether it should go through the buffer. */
+    public boolean recordWrite(UUID finchId) {
+        if (hotUntil.containsKey(finchId)) return true;
+
+        LongAdder hits = window.computeIfAbsent(finchId, id -> new LongAdder());
+        hits.increment();
+        if (hits.sum() < threshold) return false;
+
+        hotUntil.put(finchId, System.currentTimeMillis() + holdMillis);
+        return true;
+    }
+
+    @Scheduled(fixedRateString = "${finch.counters.hot-window-ms:1000}")
+    public void rollWindow() {
+        Map<UUID, LongAdder> previous = window;
+        window = new ConcurrentHashMap<>();
+
+        long now = System.currentTimeMillis();
+        previous.forEach((id, hits) -> {
+            if (hits.sum() >= threshold) hotUntil.put(id, now + holdMillis);
+        });
+        hotUntil.values().removeIf(until -> until < now);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rjhtctn.finch_backend.dto.feed;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Keyset position inside a feed that merges finches and reposts.
+ * Entries are ordered by createdAt descending, finches before reposts on equal timestamps,
+ * then by id descending within each source.
+ */
+public record FeedCursor(Instant createdAt, Kind kind, String id) {
+
+    public enum Kind { FINCH, REPOST }
+
+    private static final UUID MIN_FINCH_ID = new UUID(0L, 0L);
+
+    public static final FeedCursor START =
+            new FeedCursor(Instant.parse("9999-12-31T00:00:00Z"), Kind.FINCH, MIN_FINCH_ID.toString());
+
+    public static final Comparator<FeedCursor> NEWEST_FIRST = (a, b) -> {
+        int byTime = b.createdAt.compareTo(a.createdAt);
+        if (byTime != 0) return byTime;
+        int byKind = a.kind.compareTo(b.kind);
+        if (byKind != 0) return byKind;
+        return a.kind == Kind.REPOST
+                ? Long.compare(Long.parseLong(b.id), Long.parseLong(a.id))
+                : b.id.compareTo(a.id);
+    };
+
+    public static FeedCursor ofFinch(Instant createdAt, UUID finchId) {
+        return new FeedCursor(createdAt, Kind.FINCH, finchId.toString());
+    }
+
+    public static FeedCursor ofRepost(Instant createdAt, Long repostId) {
+        return new FeedCursor(createdAt, Kind.REPOST, String.valueOf(repostId));
+    }
+
+    /**
+     * Finches sharing the cursor timestamp are still pending only when the cursor itself points at a finch.
+     */
+    public UUID finchTieBreaker() {
+        return kind == Kind.FINCH ? UUID.fromString(id) : MIN_FINCH_ID;
+    }
+
+    /**
+     * Reposts sharing the cursor timestamp are all still pending when the cursor points at a finch.
+     */
+    public long repostTieBreaker() {
+        return kind == Kind.REPOST ? Long.parseLong(id) : Long.MAX_VALUE;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + kind.name() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid feed cursor.");
+            FeedCursor decoded = new FeedCursor(Instant.parse(parts[0]), Kind.valueOf(parts[1]), parts[2]);
+            decoded.finchTieBreaker();
+            decoded.repostTieBreaker();
+            return decoded;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid feed cursor.");
+        }
+    }
+}
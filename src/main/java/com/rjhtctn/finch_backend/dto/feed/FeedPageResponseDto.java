@@ -0,0 +1,15 @@
+package com.rjhtctn.finch_backend.dto.feed;
+
+import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedPageResponseDto {
+    private List<FinchResponseDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.rjhtctn.finch_backend.dto.feed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position inside a ranked feed: the score and id of the last item served, ordered by score
+ * descending, then by id. {@code served} counts the items before the position so the depth limit holds
+ * across pages. Rescoring between pages can only skip an item that rose past the position; it cannot
+ * shift the page boundary the way an offset does.
+ */
+public record RankedCursor(double score, UUID id, int served) {
+
+    public static final RankedCursor START = new RankedCursor(Double.POSITIVE_INFINITY, new UUID(0L, 0L), 0);
+
+    public String encode() {
+        String raw = score + "|" + id + "|" + served;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RankedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid feed cursor.");
+            int served = Integer.parseInt(parts[2]);
+            if (served < 0) throw new IllegalArgumentException("Invalid feed cursor.");
+            return new RankedCursor(Double.parseDouble(parts[0]), UUID.fromString(parts[1]), served);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid feed cursor.");
+        }
+    }
+}
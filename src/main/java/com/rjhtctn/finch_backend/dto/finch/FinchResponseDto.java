@@ -20,8 +20,10 @@ public class FinchResponseDto {
     private long bookmarkCount;
 
     private List<FinchResponseDto> replies;
+    private String repliesCursor;
 
     private long repostCount;
+    private UUID quotedId;
     private FinchResponseDto quotedFinch;
 
     private UUID parentId;
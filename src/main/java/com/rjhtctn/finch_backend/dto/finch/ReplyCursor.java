@@ -0,0 +1,38 @@
+package com.rjhtctn.finch_backend.dto.finch;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position among the replies of one finch. Replies are ordered oldest first by createdAt, then by
+ * id, matching the {@code (parent_id, created_at, id)} index.
+ */
+public record ReplyCursor(LocalDateTime createdAt, UUID id) {
+
+    public static final ReplyCursor START =
+            new ReplyCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+    public static ReplyCursor after(LocalDateTime createdAt, UUID id) {
+        return new ReplyCursor(createdAt, id);
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReplyCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid reply cursor.");
+            return new ReplyCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid reply cursor.");
+        }
+    }
+}
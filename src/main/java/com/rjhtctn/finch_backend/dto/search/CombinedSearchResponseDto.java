@@ -11,4 +11,5 @@ import java.util.List;
 public class CombinedSearchResponseDto {
     private List<UserResponseDto> users;
     private List<FinchResponseDto> finches;
+    private boolean partial;
 }
\ No newline at end of file
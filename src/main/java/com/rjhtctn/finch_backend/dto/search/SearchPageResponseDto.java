@@ -0,0 +1,14 @@
+package com.rjhtctn.finch_backend.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageResponseDto<T> {
+    private List<T> items;
+    private String nextCursor;
+}
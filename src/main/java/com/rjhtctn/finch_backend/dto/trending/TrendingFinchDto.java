@@ -0,0 +1,15 @@
+package com.rjhtctn.finch_backend.dto.trending;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingFinchDto {
+    private UUID finchId;
+    private UUID authorId;
+    private long score;
+}
@@ -17,4 +17,6 @@ public class UserProfileResponseDto {
     private String bannerImageUrl;
     private LocalDateTime createdAt;
     private boolean isPrivate;
+    private long followerCount;
+    private long followingCount;
 }
\ No newline at end of file
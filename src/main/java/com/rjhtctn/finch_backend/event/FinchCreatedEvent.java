@@ -0,0 +1,22 @@
+package com.rjhtctn.finch_backend.event;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+public record FinchCreatedEvent(UUID finchId, UUID authorId, UUID parentId, UUID quotedId, Instant createdAt) {
+
+    public static FinchCreatedEvent of(Finch finch) {
+        return new FinchCreatedEvent(
+                finch.getId(),
+                finch.getUser().getId(),
+                finch.getParentFinch() != null ? finch.getParentFinch().getId() : null,
+                finch.getQuotedFinch() != null ? finch.getQuotedFinch().getId() : null,
+                finch.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    public boolean isRoot() {
+        return parentId == null;
+    }
+}
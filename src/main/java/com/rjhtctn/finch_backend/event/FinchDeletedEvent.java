@@ -0,0 +1,19 @@
+package com.rjhtctn.finch_backend.event;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code reposterIds} is captured before the delete, since the reposts are removed along with the finch.
+ */
+public record FinchDeletedEvent(UUID finchId, UUID authorId, UUID parentId, List<UUID> reposterIds) {
+
+    public static FinchDeletedEvent of(Finch finch, List<UUID> reposterIds) {
+        return new FinchDeletedEvent(
+                finch.getId(),
+                finch.getUser().getId(),
+                finch.getParentFinch() != null ? finch.getParentFinch().getId() : null,
+                reposterIds);
+    }
+}
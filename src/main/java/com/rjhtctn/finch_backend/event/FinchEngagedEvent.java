@@ -0,0 +1,19 @@
+package com.rjhtctn.finch_backend.event;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import java.util.UUID;
+
+/**
+ * A like, repost, reply or quote landed on a finch. Published from the write paths next to the counter
+ * update; only additions are reported.
+ */
+public record FinchEngagedEvent(UUID finchId, UUID authorId, boolean authorPrivate, Kind kind) {
+
+    public enum Kind {
+        LIKE, REPLY, REPOST, QUOTE
+    }
+
+    public static FinchEngagedEvent of(Finch finch, Kind kind) {
+        return new FinchEngagedEvent(finch.getId(), finch.getUser().getId(), finch.getUser().isPrivate(), kind);
+    }
+}
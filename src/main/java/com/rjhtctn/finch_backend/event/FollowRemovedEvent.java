@@ -0,0 +1,6 @@
+package com.rjhtctn.finch_backend.event;
+
+import java.util.UUID;
+
+public record FollowRemovedEvent(UUID followerId, UUID followingId) {
+}
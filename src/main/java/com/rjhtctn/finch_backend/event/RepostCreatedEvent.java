@@ -0,0 +1,16 @@
+package com.rjhtctn.finch_backend.event;
+
+import com.rjhtctn.finch_backend.model.ReFinch;
+import java.time.Instant;
+import java.util.UUID;
+
+public record RepostCreatedEvent(Long repostId, UUID finchId, UUID userId, Instant createdAt) {
+
+    public static RepostCreatedEvent of(ReFinch repost) {
+        return new RepostCreatedEvent(
+                repost.getId(),
+                repost.getFinch().getId(),
+                repost.getUser().getId(),
+                repost.getCreatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.rjhtctn.finch_backend.event;
+
+import com.rjhtctn.finch_backend.model.ReFinch;
+import java.util.UUID;
+
+public record RepostRemovedEvent(Long repostId, UUID finchId, UUID userId) {
+
+    public static RepostRemovedEvent of(ReFinch repost) {
+        return new RepostRemovedEvent(repost.getId(), repost.getFinch().getId(), repost.getUser().getId());
+    }
+}
@@ -0,0 +1,9 @@
+package com.rjhtctn.finch_backend.event;
+
+import java.util.UUID;
+
+/**
+ * A user was registered or changed the profile fields shown in search results (names, bio, photos).
+ */
+public record UserUpdatedEvent(UUID userId) {
+}
@@ -0,0 +1,229 @@
+package com.rjhtctn.finch_backend.graph;
+
+import com.rjhtctn.finch_backend.event.FollowCreatedEvent;
+import com.rjhtctn.finch_backend.event.FollowRemovedEvent;
+import com.rjhtctn.finch_backend.event.UserDeletedEvent;
+import com.rjhtctn.finch_backend.repository.FollowEdge;
+import com.rjhtctn.finch_backend.repository.FollowRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the follow table. Users are interned to dense int ids and every user keeps sorted
+ * {@code int[]} arrays of followees and followers, so membership checks are a binary search and counts are
+ * an array length. Arrays are replaced, never mutated, which keeps reads lock-free; writers serialize on
+ * the graph.
+ *
+ * <p>The graph is loaded once the application is ready and kept current from committed follow events.
+ * Until loading finishes {@link #isLoaded()} is false and callers answer from the database.
+ */
+@Slf4j
+@Component
+public class FollowGraph {
+
+    private static final int[] NONE = new int[0];
+    private static final int LOAD_BATCH = 10_000;
+
+    private final FollowRepository followRepository;
+    private final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+    private volatile Node[] nodes = new Node[1024];
+    private int size;
+    private volatile boolean loaded;
+    private List<Runnable> pendingChanges = new ArrayList<>();
+
+    public FollowGraph(FollowRepository followRepository) {
+        this.followRepository = followRepository;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isFollowing(UUID followerId, UUID targetId) {
+        Integer follower = ids.get(followerId);
+        Integer target = ids.get(targetId);
+        if (follower == null || target == null) return false;
+        return Arrays.binarySearch(nodes[follower].following, target) >= 0;
+    }
+
+    public int followerCount(UUID userId) {
+        Integer id = ids.get(userId);
+        return id == null ? 0 : nodes[id].followers.length;
+    }
+
+    public int followingCount(UUID userId) {
+        Integer id = ids.get(userId);
+        return id == null ? 0 : nodes[id].following.length;
+    }
+
+    public List<UUID> followerIds(UUID userId) {
+        Integer id = ids.get(userId);
+        return id == null ? List.of() : toUserIds(nodes[id].followers);
+    }
+
+    public List<UUID> followingIds(UUID userId) {
+        Integer id = ids.get(userId);
+        return id == null ? List.of() : toUserIds(nodes[id].following);
+    }
+
+    @TransactionalEventListener
+    public void onFollowCreated(FollowCreatedEvent event) {
+        change(() -> addEdge(intern(event.followerId()), intern(event.followingId())));
+    }
+
+    @TransactionalEventListener
+    public void onFollowRemoved(FollowRemovedEvent event) {
+        change(() -> removeEdge(intern(event.followerId()), intern(event.followingId())));
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        change(() -> removeUser(intern(event.userId())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            long started = System.currentTimeMillis();
+            int[] followers = new int[LOAD_BATCH];
+            int[] followings = new int[LOAD_BATCH];
+            int edges = 0;
+            long after = 0;
+
+            List<FollowEdge> batch;
+            do {
+                batch = followRepository.findEdgesAfter(after, PageRequest.of(0, LOAD_BATCH));
+                if (edges + batch.size() > followers.length) {
+                    followers = Arrays.copyOf(followers, Math.max(followers.length * 2, edges + batch.size()));
+                    followings = Arrays.copyOf(followings, followers.length);
+                }
+                for (FollowEdge edge : batch) {
+                    followers[edges] = intern(edge.getFollowerId());
+                    followings[edges] = intern(edge.getFollowingId());
+                    edges++;
+                    after = edge.getId();
+                }
+            } while (batch.size() == LOAD_BATCH);
+
+            install(followers, followings, edges);
+            log.info("Follow graph loaded: {} users, {} edges in {} ms.",
+                    ids.size(), edges, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Follow graph could not be loaded, follow checks stay on the database.", e);
+        }
+    }
+
+    private synchronized void install(int[] followers, int[] followings, int edges) {
+        int[] followingCounts = new int[size];
+        int[] followerCounts = new int[size];
+        for (int i = 0; i < edges; i++) {
+            followingCounts[followers[i]]++;
+            followerCounts[followings[i]]++;
+        }
+
+        int[][] following = new int[size][];
+        int[][] followersOf = new int[size][];
+        for (int i = 0; i < size; i++) {
+            following[i] = followingCounts[i] == 0 ? NONE : new int[followingCounts[i]];
+            followersOf[i] = followerCounts[i] == 0 ? NONE : new int[followerCounts[i]];
+        }
+        for (int i = edges - 1; i >= 0; i--) {
+            following[followers[i]][--followingCounts[followers[i]]] = followings[i];
+            followersOf[followings[i]][--followerCounts[followings[i]]] = followers[i];
+        }
+
+        Node[] current = nodes;
+        for (int i = 0; i < size; i++) {
+            Arrays.sort(following[i]);
+            Arrays.sort(followersOf[i]);
+            current[i].following = following[i];
+            current[i].followers = followersOf[i];
+        }
+
+        pendingChanges.forEach(Runnable::run);
+        pendingChanges = null;
+        loaded = true;
+    }
+
+    private synchronized void change(Runnable change) {
+        if (loaded) change.run();
+        else pendingChanges.add(change);
+    }
+
+    private synchronized int intern(UUID userId) {
+        Integer existing = ids.get(userId);
+        if (existing != null) return existing;
+
+        int id = size++;
+        if (id == nodes.length) nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        nodes[id] = new Node(userId);
+        ids.put(userId, id);
+        return id;
+    }
+
+    private void addEdge(int follower, int target) {
+        nodes[follower].following = insert(nodes[follower].following, target);
+        nodes[target].followers = insert(nodes[target].followers, follower);
+    }
+
+    private void removeEdge(int follower, int target) {
+        nodes[follower].following = remove(nodes[follower].following, target);
+        nodes[target].followers = remove(nodes[target].followers, follower);
+    }
+
+    private void removeUser(int user) {
+        Node node = nodes[user];
+        for (int target : node.following) nodes[target].followers = remove(nodes[target].followers, user);
+        for (int follower : node.followers) nodes[follower].following = remove(nodes[follower].following, user);
+        node.following = NONE;
+        node.followers = NONE;
+    }
+
+    private List<UUID> toUserIds(int[] adjacency) {
+        Node[] current = nodes;
+        List<UUID> userIds = new ArrayList<>(adjacency.length);
+        for (int id : adjacency) userIds.add(current[id].userId);
+        return userIds;
+    }
+
+    private static int[] insert(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) return sorted;
+        int at = -index - 1;
+        int[] next = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, next, 0, at);
+        next[at] = value;
+        System.arraycopy(sorted, at, next, at + 1, sorted.length - at);
+        return next;
+    }
+
+    private static int[] remove(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) return sorted;
+        if (sorted.length == 1) return NONE;
+        int[] next = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, next, 0, index);
+        System.arraycopy(sorted, index + 1, next, index, next.length - index);
+        return next;
+    }
+
+    private static final class Node {
+        private final UUID userId;
+        private volatile int[] following = NONE;
+        private volatile int[] followers = NONE;
+
+        private Node(UUID userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rjhtctn.finch_backend.interaction;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Immutable set of finch ids kept as one sorted {@code long[]} of interleaved most/least significant halves.
+ * Sixteen bytes per id and a binary search per lookup; updates copy the array, which is fine for the
+ * per-user write rates this is used for.
+ */
+public final class FinchIdSet {
+
+    public static final FinchIdSet EMPTY = new FinchIdSet(new long[0]);
+
+    private final long[] halves;
+
+    private FinchIdSet(long[] halves) {
+        this.halves = halves;
+    }
+
+    public static FinchIdSet of(Collection<UUID> ids) {
+        UUID[] sorted = ids.toArray(new UUID[0]);
+        Arrays.sort(sorted, FinchIdSet::compare);
+
+        long[] halves = new long[sorted.length * 2];
+        int size = 0;
+        for (UUID id : sorted) {
+            if (size > 0 && halves[2 * size - 2] == id.getMostSignificantBits()
+                    && halves[2 * size - 1] == id.getLeastSignificantBits()) continue;
+            halves[2 * size] = id.getMostSignificantBits();
+            halves[2 * size + 1] = id.getLeastSignificantBits();
+            size++;
+        }
+        return new FinchIdSet(size * 2 == halves.length ? halves : Arrays.copyOf(halves, size * 2));
+    }
+
+    public int size() {
+        return halves.length / 2;
+    }
+
+    public boolean contains(UUID id) {
+        return indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+    }
+
+    public FinchIdSet with(UUID id) {
+        int index = indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (index >= 0) return this;
+
+        int insertAt = -index - 1;
+        long[] next = new long[halves.length + 2];
+        System.arraycopy(halves, 0, next, 0, insertAt * 2);
+        next[insertAt * 2] = id.getMostSignificantBits();
+        next[insertAt * 2 + 1] = id.getLeastSignificantBits();
+        System.arraycopy(halves, insertAt * 2, next, insertAt * 2 + 2, halves.length - insertAt * 2);
+        return new FinchIdSet(next);
+    }
+
+    public FinchIdSet without(UUID id) {
+        int index = indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (index < 0) return this;
+
+        long[] next = new long[halves.length - 2];
+        System.arraycopy(halves, 0, next, 0, index * 2);
+        System.arraycopy(halves, index * 2 + 2, next, index * 2, next.length - index * 2);
+        return new FinchIdSet(next);
+    }
+
+    private int indexOf(long hi, long lo) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(halves[2 * mid], halves[2 * mid + 1], hi, lo);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    private static int compare(UUID a, UUID b) {
+        return compare(a.getMostSignificantBits(), a.getLeastSignificantBits(),
+                b.getMostSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static int compare(long hiA, long loA, long hiB, long loB) {
+        int cmp = Long.compare(hiA, hiB);
+        return cmp != 0 ? cmp : Long.compare(loA, loB);
+    }
+}
@@ -0,0 +1,89 @@
+package com.rjhtctn.finch_backend.interaction;
+
+import com.rjhtctn.finch_backend.repository.BookmarkRepository;
+import com.rjhtctn.finch_backend.repository.LikeRepository;
+import com.rjhtctn.finch_backend.repository.RefinchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * LRU cache of {@link ViewerInteractions}. Sets are loaded on first use and kept current from the like,
+ * bookmark and repost write paths, which record their change once the transaction has committed.
+ */
+@Component
+public class ViewerInteractionCache {
+
+    private final LikeRepository likeRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final RefinchRepository refinchRepository;
+    private final Map<UUID, ViewerInteractions> viewers;
+
+    public ViewerInteractionCache(LikeRepository likeRepository,
+                                  BookmarkRepository bookmarkRepository,
+                                  RefinchRepository refinchRepository,
+                                  @Value("${finch.interactions.max-viewers:50000}") int maxViewers) {
+        this.likeRepository = likeRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.refinchRepository = refinchRepository;
+        this.viewers = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ViewerInteractions> eldest) {
+                return size() > maxViewers;
+            }
+        };
+    }
+
+    /** Returns the loaded interaction sets of the user, reading them from the database on a miss. */
+    public ViewerInteractions forViewer(UUID userId) {
+        ViewerInteractions interactions;
+        synchronized (viewers) {
+            interactions = viewers.computeIfAbsent(userId, id -> new ViewerInteractions());
+        }
+        if (!interactions.isLoaded()) {
+            interactions.load(kind -> switch (kind) {
+                case LIKE -> likeRepository.findFinchIdsByUserId(userId);
+                case BOOKMARK -> bookmarkRepository.findFinchIdsByUserId(userId);
+                case REPOST -> refinchRepository.findFinchIdsByUserId(userId);
+            });
+        }
+        return interactions;
+    }
+
+    public void recordLike(UUID userId, UUID finchId, boolean liked) {
+        record(userId, ViewerInteractions.Kind.LIKE, finchId, liked);
+    }
+
+    public void recordBookmark(UUID userId, UUID finchId, boolean bookmarked) {
+        record(userId, ViewerInteractions.Kind.BOOKMARK, finchId, bookmarked);
+    }
+
+    public void recordRepost(UUID userId, UUID finchId, boolean reposted) {
+        record(userId, ViewerInteractions.Kind.REPOST, finchId, reposted);
+    }
+
+    private void record(UUID userId, ViewerInteractions.Kind kind, UUID finchId, boolean present) {
+        Runnable change = () -> {
+            ViewerInteractions interactions;
+            synchronized (viewers) {
+                interactions = viewers.get(userId);
+            }
+            if (interactions != null) interactions.record(kind, finchId, present);
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
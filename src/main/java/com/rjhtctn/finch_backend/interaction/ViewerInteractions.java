@@ -0,0 +1,81 @@
+package com.rjhtctn.finch_backend.interaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Liked, bookmarked and reposted finch ids of one user. Changes that arrive while the sets are still being
+ * read from the database are queued and replayed on top of the loaded snapshot, so a write that races the
+ * initial load is never lost.
+ */
+public final class ViewerInteractions {
+
+    public enum Kind { LIKE, BOOKMARK, REPOST }
+
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    private volatile FinchIdSet liked = FinchIdSet.EMPTY;
+    private volatile FinchIdSet bookmarked = FinchIdSet.EMPTY;
+    private volatile FinchIdSet reposted = FinchIdSet.EMPTY;
+    private volatile boolean loaded;
+    private volatile long version;
+    private List<Change> pending = new ArrayList<>();
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Stamp of the last change; unique across instances, so a reloaded set never reuses an old value. */
+    public long version() {
+        return version;
+    }
+
+    public boolean liked(UUID finchId) {
+        return liked.contains(finchId);
+    }
+
+    public boolean bookmarked(UUID finchId) {
+        return bookmarked.contains(finchId);
+    }
+
+    public boolean reposted(UUID finchId) {
+        return reposted.contains(finchId);
+    }
+
+    synchronized void load(Function<Kind, Collection<UUID>> loader) {
+        if (loaded) return;
+        liked = FinchIdSet.of(loader.apply(Kind.LIKE));
+        bookmarked = FinchIdSet.of(loader.apply(Kind.BOOKMARK));
+        reposted = FinchIdSet.of(loader.apply(Kind.REPOST));
+        pending.forEach(this::apply);
+        pending = null;
+        version = STAMPS.incrementAndGet();
+        loaded = true;
+    }
+
+    synchronized void record(Kind kind, UUID finchId, boolean present) {
+        Change change = new Change(kind, finchId, present);
+        if (loaded) apply(change);
+        else pending.add(change);
+    }
+
+    private void apply(Change change) {
+        version = STAMPS.incrementAndGet();
+        switch (change.kind()) {
+            case LIKE -> liked = change.applyTo(liked);
+            case BOOKMARK -> bookmarked = change.applyTo(bookmarked);
+            case REPOST -> reposted = change.applyTo(reposted);
+        }
+    }
+
+    private record Change(Kind kind, UUID finchId, boolean present) {
+
+        FinchIdSet applyTo(FinchIdSet set) {
+            return present ? set.with(finchId) : set.without(finchId);
+        }
+    }
+}
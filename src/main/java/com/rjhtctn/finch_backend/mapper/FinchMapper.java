@@ -29,6 +29,10 @@ public class FinchMapper {
         dto.setContent(finch.getContent());
         dto.setCreatedAt(finch.getCreatedAt());
         dto.setAuthor(UserMapper.toUserResponse(finch.getUser()));
+        dto.setLikeCount(finch.getLikeCount());
+        dto.setReplyCount((int) finch.getReplyCount());
+        dto.setRepostCount(finch.getRepostCount());
+        dto.setBookmarkCount(finch.getBookmarkCount());
         if (finch.getImages() != null) {
             dto.setImages(
                     finch.getImages().stream().map(img -> {
@@ -42,6 +46,9 @@ public class FinchMapper {
         if (finch.getParentFinch() != null) {
             dto.setParentId(finch.getParentFinch().getId());
         }
+        if (finch.getQuotedFinch() != null) {
+            dto.setQuotedId(finch.getQuotedFinch().getId());
+        }
         return dto;
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.rjhtctn.finch_backend.dto.user.UserMeResponseDto;
 import com.rjhtctn.finch_backend.dto.user.UserProfileResponseDto;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
 import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.search.UserTypeahead;
 
 public class UserMapper {
 
@@ -24,6 +25,22 @@ public class UserMapper {
         return dto;
     }
 
+    public static UserResponseDto toUserResponse(UserTypeahead.Profile profile) {
+        if (profile == null) {
+            return null;
+        }
+
+        UserResponseDto dto = new UserResponseDto();
+        dto.setId(profile.id());
+        dto.setUsername(profile.username());
+        dto.setFirstName(profile.firstName());
+        dto.setLastName(profile.lastName());
+        dto.setProfileImageUrl(profile.profileImageUrl());
+        dto.setPrivate(profile.isPrivate());
+
+        return dto;
+    }
+
     public static UserProfileResponseDto toUserProfileResponse(User user) {
         if (user == null) {
             return null;
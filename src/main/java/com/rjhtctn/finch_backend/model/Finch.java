@@ -2,6 +2,7 @@ package com.rjhtctn.finch_backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -11,9 +12,13 @@ import java.util.*;
 
 @Getter
 @Setter
-@EqualsAndHashCode(exclude = {"user", "likes"})
-@ToString(exclude = {"user", "likes"})
+@EqualsAndHashCode(exclude = {"user", "likes", "tags", "mentions"})
+@ToString(exclude = {"user", "likes", "tags", "mentions"})
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_finch_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_finch_parent_created_at_id", columnList = "parent_id, created_at, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Finch {
@@ -61,4 +66,26 @@ public class Finch {
 
     @OneToMany(mappedBy = "finch", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ReFinch> reFinches = new HashSet<>();
+
+    @OneToMany(mappedBy = "finch", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<FinchTag> tags = new HashSet<>();
+
+    @OneToMany(mappedBy = "finch", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<FinchMention> mentions = new HashSet<>();
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long likeCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long replyCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long repostCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long bookmarkCount;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.rjhtctn.finch_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.LocalDateTime;
+
+/**
+ * A user mentioned in a finch, resolved from {@code @username} when the finch was written.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(exclude = {"finch", "user"})
+@ToString(exclude = {"finch", "user"})
+@NoArgsConstructor
+@Entity
+@Table(name = "finch_mentions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"finch_id", "user_id"}),
+        indexes = @Index(name = "idx_finch_mention_created_at", columnList = "user_id, created_at, finch_id"))
+public class FinchMention {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "finch_id", nullable = false)
+    private Finch finch;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public FinchMention(Finch finch, User user) {
+        this.finch = finch;
+        this.user = user;
+        this.createdAt = finch.getCreatedAt();
+    }
+}
@@ -0,0 +1,41 @@
+package com.rjhtctn.finch_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Posting of a normalized hashtag on a finch. The finch timestamp is copied in so a tag timeline is read
+ * in index order from {@code (tag, created_at, finch_id)}.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(exclude = {"finch"})
+@ToString(exclude = {"finch"})
+@NoArgsConstructor
+@Entity
+@Table(name = "finch_tags",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"finch_id", "tag"}),
+        indexes = @Index(name = "idx_finch_tag_created_at", columnList = "tag, created_at, finch_id"))
+public class FinchTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String tag;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "finch_id", nullable = false)
+    private Finch finch;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public FinchTag(Finch finch, String tag) {
+        this.finch = finch;
+        this.tag = tag;
+        this.createdAt = finch.getCreatedAt();
+    }
+}
@@ -0,0 +1,48 @@
+package com.rjhtctn.finch_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One posting of the trigram index over finch content. The primary key leads with the trigram, so the
+ * postings of a trigram are stored together; rows go away with their finch through the foreign key.
+ * Rows are written in bulk by {@code TrigramIndex}, the entity only defines the table.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(exclude = {"finch"})
+@ToString(exclude = {"finch"})
+@NoArgsConstructor
+@Entity
+@IdClass(FinchTrigram.Key.class)
+@Table(name = "finch_trigrams", indexes = @Index(name = "idx_finch_trigram_finch", columnList = "finch_id"))
+public class FinchTrigram {
+
+    @Id
+    @Column(length = 3, nullable = false)
+    private String trigram;
+
+    @Id
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "finch_id", length = 36, nullable = false)
+    private UUID finchId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "finch_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Finch finch;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String trigram;
+        private UUID finchId;
+    }
+}
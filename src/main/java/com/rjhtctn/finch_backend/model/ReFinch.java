@@ -6,7 +6,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "finch_id"})})
+@Table(uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "finch_id"})},
+        indexes = {@Index(name = "idx_refinch_created_at_id", columnList = "created_at, id")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,14 @@
+package com.rjhtctn.finch_backend.push;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Payload of a "new items" push. It only tells the client that its following feed has something newer;
+ * the client fetches the items itself with a {@code since} request.
+ */
+public record FeedNotification(String type, UUID finchId, UUID actorId, Instant createdAt) {
+
+    public static final String FINCH = "finch";
+    public static final String REPOST = "repost";
+}
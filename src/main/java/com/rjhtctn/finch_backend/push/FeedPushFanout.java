@@ -0,0 +1,60 @@
+package com.rjhtctn.finch_backend.push;
+
+import com.rjhtctn.finch_backend.event.FinchCreatedEvent;
+import com.rjhtctn.finch_backend.event.RepostCreatedEvent;
+import com.rjhtctn.finch_backend.graph.FollowGraph;
+import com.rjhtctn.finch_backend.service.FollowService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.UUID;
+
+/**
+ * Pushes committed root finches, quotes and reposts to the followers of their author that have a feed
+ * stream open. Replies are not pushed, since the following feed does not list them. When fewer users are
+ * connected than the author has followers, the connected users are checked against the follow graph
+ * instead of walking the follower list.
+ */
+@Component
+public class FeedPushFanout {
+
+    private final FeedSubscriptionRegistry registry;
+    private final FollowGraph followGraph;
+    private final FollowService followService;
+
+    public FeedPushFanout(FeedSubscriptionRegistry registry, FollowGraph followGraph, FollowService followService) {
+        this.registry = registry;
+        this.followGraph = followGraph;
+        this.followService = followService;
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onFinchCreated(FinchCreatedEvent event) {
+        if (!event.isRoot()) return;
+        deliver(event.authorId(), new FeedNotification(
+                FeedNotification.FINCH, event.finchId(), event.authorId(), event.createdAt()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRepostCreated(RepostCreatedEvent event) {
+        deliver(event.userId(), new FeedNotification(
+                FeedNotification.REPOST, event.finchId(), event.userId(), event.createdAt()));
+    }
+
+    private void deliver(UUID actorId, FeedNotification notification) {
+        if (!registry.hasSubscribers()) return;
+
+        if (followGraph.isLoaded() && registry.subscribedUserCount() < followGraph.followerCount(actorId)) {
+            for (UUID userId : registry.subscribedUsers()) {
+                if (followGraph.isFollowing(userId, actorId)) registry.publish(userId, notification);
+            }
+            return;
+        }
+        for (UUID followerId : followService.getFollowerIds(actorId)) {
+            registry.publish(followerId, notification);
+        }
+    }
+}
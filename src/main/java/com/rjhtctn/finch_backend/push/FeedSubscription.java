@@ -0,0 +1,99 @@
+package com.rjhtctn.finch_backend.push;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open stream. Producers only {@link #offer} into a bounded queue and never block; a full queue drops
+ * the notification and the client gets a single {@code resync} event instead, telling it to reload. Sending
+ * is done by at most one drain task at a time on the shared push executor.
+ */
+public class FeedSubscription {
+
+    private static final FeedNotification RESYNC = new FeedNotification("resync", null, null, null);
+
+    private final UUID userId;
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final ArrayBlockingQueue<FeedNotification> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private volatile boolean heartbeatDue;
+    private volatile boolean closed;
+
+    FeedSubscription(UUID userId, SseEmitter emitter, Executor executor, int queueCapacity) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    public void offer(FeedNotification notification) {
+        if (closed) return;
+        if (!queue.offer(notification)) overflowed.set(true);
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        if (closed) return;
+        heartbeatDue = true;
+        scheduleDrain();
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            if (overflowed.getAndSet(false)) {
+                queue.clear();
+                send(RESYNC);
+            }
+            FeedNotification next;
+            while (!closed && (next = queue.poll()) != null) {
+                send(next);
+            }
+            if (heartbeatDue && !closed) {
+                heartbeatDue = false;
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            closed = true;
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+            if (!closed && (!queue.isEmpty() || overflowed.get())) scheduleDrain();
+        }
+    }
+
+    private void send(FeedNotification notification) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name(notification.type())
+                .data(notification, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,116 @@
+package com.rjhtctn.finch_backend.push;
+
+import com.rjhtctn.finch_backend.exception.ConflictException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open feed streams indexed by the subscribing user. Fan-out looks followers up here, so delivering a
+ * notification costs one map lookup per follower and nothing for users without an open stream.
+ */
+@Component
+public class FeedSubscriptionRegistry {
+
+    private final Map<UUID, Set<FeedSubscription>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ExecutorService executor;
+    private final int maxConnections;
+    private final int maxPerUser;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    public FeedSubscriptionRegistry(@Value("${finch.push.max-connections:10000}") int maxConnections,
+                                    @Value("${finch.push.max-per-user:3}") int maxPerUser,
+                                    @Value("${finch.push.queue-capacity:32}") int queueCapacity,
+                                    @Value("${finch.push.timeout-ms:1800000}") long timeoutMillis,
+                                    @Value("${finch.push.threads:4}") int threads) {
+        this.maxConnections = maxConnections;
+        this.maxPerUser = maxPerUser;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "feed-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        if (open.incrementAndGet() > maxConnections) {
+            open.decrementAndGet();
+            throw new ConflictException("Too many open feed streams, try again later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        FeedSubscription subscription = new FeedSubscription(userId, emitter, executor, queueCapacity);
+
+        Set<FeedSubscription> subscriptions = byUser.compute(userId, (id, existing) -> {
+            Set<FeedSubscription> set = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxPerUser) set.add(subscription);
+            return set;
+        });
+        if (!subscriptions.contains(subscription)) {
+            open.decrementAndGet();
+            throw new ConflictException("Too many open feed streams for this user.");
+        }
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !byUser.isEmpty();
+    }
+
+    public int subscribedUserCount() {
+        return byUser.size();
+    }
+
+    public Collection<UUID> subscribedUsers() {
+        return byUser.keySet();
+    }
+
+    public void publish(UUID userId, FeedNotification notification) {
+        Set<FeedSubscription> subscriptions = byUser.get(userId);
+        if (subscriptions == null) return;
+        subscriptions.forEach(subscription -> subscription.offer(notification));
+    }
+
+    @Scheduled(fixedRateString = "${finch.push.heartbeat-ms:20000}")
+    public void heartbeat() {
+        byUser.values().forEach(set -> set.forEach(FeedSubscription::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        byUser.values().forEach(set -> set.forEach(subscription -> {
+            subscription.close();
+            subscription.emitter().complete();
+        }));
+        byUser.clear();
+        executor.shutdown();
+    }
+
+    private void remove(FeedSubscription subscription) {
+        subscription.close();
+        boolean[] removed = new boolean[1];
+        byUser.computeIfPresent(subscription.userId(), (id, set) -> {
+            removed[0] = set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+        if (removed[0]) open.decrementAndGet();
+    }
+}
@@ -0,0 +1,62 @@
+package com.rjhtctn.finch_backend.ranking;
+
+import com.rjhtctn.finch_backend.repository.AuthorAffinity;
+import com.rjhtctn.finch_backend.repository.LikeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-viewer score boosts for authors the viewer liked recently, {@code ln(1 + likes)} per author. Built
+ * from one grouped query over the viewer's own likes and kept for a few minutes in a small LRU map.
+ */
+@Component
+public class AuthorAffinityCache {
+
+    private static final int MAX_AUTHORS = 200;
+    private static final int LOOKBACK_DAYS = 30;
+
+    private final LikeRepository likeRepository;
+    private final long ttlMillis;
+    private final Map<UUID, Entry> entries;
+
+    public AuthorAffinityCache(LikeRepository likeRepository,
+                               @Value("${finch.ranking.affinity-ttl-ms:300000}") long ttlMillis,
+                               @Value("${finch.ranking.affinity-max-viewers:20000}") int maxViewers) {
+        this.likeRepository = likeRepository;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxViewers;
+            }
+        };
+    }
+
+    public Map<UUID, Double> boostsFor(UUID viewerId) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(viewerId);
+            if (entry != null && entry.expiresAt() > now) return entry.boosts();
+        }
+
+        Map<UUID, Double> boosts = new HashMap<>();
+        for (AuthorAffinity affinity : likeRepository.findLikedAuthors(
+                viewerId, LocalDateTime.now().minusDays(LOOKBACK_DAYS), PageRequest.of(0, MAX_AUTHORS))) {
+            boosts.put(affinity.getAuthorId(), Math.log1p(affinity.getCount()));
+        }
+
+        synchronized (entries) {
+            entries.put(viewerId, new Entry(Map.copyOf(boosts), now + ttlMillis));
+        }
+        return boosts;
+    }
+
+    private record Entry(Map<UUID, Double> boosts, long expiresAt) {
+    }
+}
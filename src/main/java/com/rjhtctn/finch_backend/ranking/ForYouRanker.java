@@ -0,0 +1,152 @@
+package com.rjhtctn.finch_backend.ranking;
+
+import com.rjhtctn.finch_backend.event.FinchCreatedEvent;
+import com.rjhtctn.finch_backend.event.FinchDeletedEvent;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.RankingCandidate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed candidate pool for the "For You" feed: recent root finches by public authors, capped in
+ * size and loaded from the {@code created_at} index rather than by scanning the table.
+ *
+ * <p>A candidate's score is {@code ln(1 + weighted engagement) + createdAt / DECAY}. Subtracting the
+ * current time over {@code DECAY} would give the usual exponentially decayed engagement, but it shifts
+ * every score by the same amount, so the stored score never has to be touched just because time passed.
+ * Only finches whose counters changed, and new finches, are rescored by the incremental job; a periodic
+ * rebuild drops finches that aged out of the window.
+ */
+@Slf4j
+@Component
+public class ForYouRanker {
+
+    private static final double DECAY_SECONDS = 6 * 3600;
+    private static final double LIKE_WEIGHT = 1;
+    private static final double REPLY_WEIGHT = 2;
+    private static final double BOOKMARK_WEIGHT = 2;
+    private static final double REPOST_WEIGHT = 3;
+
+    private static final Comparator<Candidate> RANKING =
+            Comparator.comparingDouble(Candidate::score).reversed().thenComparing(Candidate::finchId);
+
+    private final FinchRepository finchRepository;
+    private final int poolSize;
+    private final long windowHours;
+    private final int scanDepth;
+    private final Map<UUID, Candidate> pool = new ConcurrentHashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private volatile Candidate[] ranked = new Candidate[0];
+
+    public ForYouRanker(FinchRepository finchRepository,
+                        @Value("${finch.ranking.pool-size:5000}") int poolSize,
+                        @Value("${finch.ranking.window-hours:48}") long windowHours,
+                        @Value("${finch.ranking.scan-depth:2000}") int scanDepth) {
+        this.finchRepository = finchRepository;
+        this.poolSize = poolSize;
+        this.windowHours = windowHours;
+        this.scanDepth = scanDepth;
+    }
+
+    public record Candidate(UUID finchId, UUID authorId, Instant createdAt, double score) {
+    }
+
+    /**
+     * Returns the {@code k} best candidates for a viewer that rank below {@code (afterScore, afterId)}, adding
+     * the viewer's author boosts to the global scores. Candidates are ordered by boosted score descending,
+     * then by id, and carry the boosted score. Only the top {@code scanDepth} global candidates are considered.
+     */
+    public List<Candidate> top(Map<UUID, Double> authorBoosts, double afterScore, UUID afterId, int k) {
+        Candidate[] current = ranked;
+        int depth = Math.min(current.length, scanDepth);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, RANKING.reversed());
+
+        for (int i = 0; i < depth; i++) {
+            Candidate candidate = boosted(current[i], authorBoosts);
+            if (!ranksAfter(candidate, afterScore, afterId)) continue;
+            best.offer(candidate);
+            if (best.size() > k) best.poll();
+        }
+
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort(RANKING);
+        return result;
+    }
+
+    public void markChanged(UUID finchId) {
+        if (pool.containsKey(finchId)) changed.add(finchId);
+    }
+
+    @TransactionalEventListener
+    public void onFinchCreated(FinchCreatedEvent event) {
+        if (event.isRoot()) changed.add(event.finchId());
+    }
+
+    @TransactionalEventListener
+    public void onFinchDeleted(FinchDeletedEvent event) {
+        if (pool.remove(event.finchId()) != null) publish();
+    }
+
+    @Scheduled(fixedDelayString = "${finch.ranking.rescore-ms:30000}")
+    @Transactional(readOnly = true)
+    public void rescoreChanged() {
+        if (changed.isEmpty()) return;
+        List<UUID> ids = new ArrayList<>(changed);
+        changed.removeAll(ids);
+
+        for (RankingCandidate row : finchRepository.findRankingCandidatesByIdIn(ids)) {
+            pool.put(row.getFinchId(), toCandidate(row));
+        }
+        publish();
+    }
+
+    @Scheduled(fixedDelayString = "${finch.ranking.rebuild-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+        List<RankingCandidate> rows = finchRepository.findRankingCandidates(since, PageRequest.of(0, poolSize));
+
+        Map<UUID, Candidate> fresh = new HashMap<>(rows.size() * 2);
+        rows.forEach(row -> fresh.put(row.getFinchId(), toCandidate(row)));
+        pool.keySet().retainAll(fresh.keySet());
+        pool.putAll(fresh);
+        publish();
+        log.debug("For You candidate pool rebuilt with {} finches.", pool.size());
+    }
+
+    private void publish() {
+        Candidate[] sorted = pool.values().toArray(new Candidate[0]);
+        Arrays.sort(sorted, Comparator.comparingDouble(Candidate::score).reversed());
+        ranked = sorted;
+    }
+
+    private static Candidate boosted(Candidate candidate, Map<UUID, Double> authorBoosts) {
+        Double boost = authorBoosts.get(candidate.authorId());
+        if (boost == null) return candidate;
+        return new Candidate(candidate.finchId(), candidate.authorId(), candidate.createdAt(), candidate.score() + boost);
+    }
+
+    private static boolean ranksAfter(Candidate candidate, double score, UUID id) {
+        return candidate.score() < score || (candidate.score() == score && candidate.finchId().compareTo(id) > 0);
+    }
+
+    private static Candidate toCandidate(RankingCandidate row) {
+        Instant createdAt = row.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+        double engagement = LIKE_WEIGHT * row.getLikeCount()
+                + REPLY_WEIGHT * row.getReplyCount()
+                + BOOKMARK_WEIGHT * row.getBookmarkCount()
+                + REPOST_WEIGHT * row.getRepostCount();
+        double score = Math.log1p(engagement) + createdAt.getEpochSecond() / DECAY_SECONDS;
+        return new Candidate(row.getFinchId(), row.getAuthorId(), createdAt, score);
+    }
+}
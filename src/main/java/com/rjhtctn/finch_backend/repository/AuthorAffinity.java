@@ -0,0 +1,8 @@
+package com.rjhtctn.finch_backend.repository;
+
+import java.util.UUID;
+
+public interface AuthorAffinity {
+    UUID getAuthorId();
+    long getCount();
+}
@@ -4,11 +4,20 @@ import com.rjhtctn.finch_backend.model.Bookmark;
 import com.rjhtctn.finch_backend.model.Finch;
 import com.rjhtctn.finch_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     Optional<Bookmark> findByUserAndFinch(User user, Finch finch);
     List<Bookmark> findAllByUser(User user);
-    long countByFinch(Finch finch);
+
+    @Query("SELECT b.finch.id AS finchId, COUNT(b) AS count FROM Bookmark b WHERE b.finch.id IN :finchIds GROUP BY b.finch.id")
+    List<FinchCount> countByFinchIds(@Param("finchIds") Collection<UUID> finchIds);
+
+    @Query("SELECT b.finch.id FROM Bookmark b WHERE b.user.id = :userId")
+    List<UUID> findFinchIdsByUserId(@Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.rjhtctn.finch_backend.repository;
+
+import java.util.UUID;
+
+public interface FinchCounters {
+    UUID getFinchId();
+    long getLikeCount();
+    long getReplyCount();
+    long getRepostCount();
+    long getBookmarkCount();
+}
@@ -1,24 +1,271 @@
 package com.rjhtctn.finch_backend.repository;
 
 import com.rjhtctn.finch_backend.model.Finch;
-import com.rjhtctn.finch_backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface FinchRepository extends JpaRepository<Finch, UUID> {
 
-    List<Finch> findByUser_Username(String username, Sort sort);
+    @Query("""
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE u.username = :username AND
+            """ + Visibility.AUTHOR)
+    List<Finch> findVisibleByUsername(@Param("username") String username,
+                                      @Param("viewerId") UUID viewerId,
+                                      Sort sort);
 
-    List<Finch> findAllByParentFinchIsNullOrderByCreatedAtDesc();
+    @Query(value = """
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE LOWER(f.content) LIKE :pattern ESCAPE '!' AND
+            """ + Visibility.AUTHOR,
+            countQuery = """
+            SELECT COUNT(f) FROM Finch f JOIN f.user u
+            WHERE LOWER(f.content) LIKE :pattern ESCAPE '!' AND
+            """ + Visibility.AUTHOR)
+    Page<Finch> searchVisibleByPattern(@Param("pattern") String pattern, @Param("viewerId") UUID viewerId,
+                                       Pageable pageable);
 
-    List<Finch> findByUserInAndParentFinchIsNull(List<User> users, Sort sort);
+    /** Case-insensitive substring search; wildcards in {@code query} match literally. */
+    default Page<Finch> searchVisible(String query, UUID viewerId, Pageable pageable) {
+        return searchVisibleByPattern(LikePatterns.contains(query), viewerId, pageable);
+    }
 
-    Page<Finch> findByContentContainingIgnoreCase(String query, Pageable pageable);
+    @Query(value = """
+            SELECT f.id FROM finch f JOIN `user` u ON u.id = f.user_id
+            WHERE MATCH(f.content) AGAINST (:query IN BOOLEAN MODE) AND
+            """ + Visibility.NATIVE_AUTHOR + """
+            ORDER BY MATCH(f.content) AGAINST (:query IN BOOLEAN MODE) DESC, f.created_at DESC, f.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM finch f JOIN `user` u ON u.id = f.user_id
+            WHERE MATCH(f.content) AGAINST (:query IN BOOLEAN MODE) AND
+            """ + Visibility.NATIVE_AUTHOR,
+            nativeQuery = true)
+    Page<String> searchFullTextIds(@Param("query") String query,
+                                   @Param("viewerId") String viewerId,
+                                   Pageable pageable);
+
+    @Query("""
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE f.parentFinch IS NULL
+              AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id))
+              AND """ + Visibility.AUTHOR + """
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Finch> findGlobalFeedPage(@Param("viewerId") UUID viewerId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") UUID id,
+                                   Pageable pageable);
+
+    @Query("""
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE f.parentFinch IS NULL
+              AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id))
+              AND u.isPrivate = false
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Finch> findPublicFeedPage(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") UUID id,
+                                   Pageable pageable);
+
+    @Query("""
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE f.parentFinch IS NULL
+              AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id))
+              AND u.isPrivate = true AND """ + Visibility.AUTHOR + """
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Finch> findPrivateFeedPage(@Param("viewerId") UUID viewerId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") UUID id,
+                                    Pageable pageable);
+
+    @Query("""
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE f.parentFinch IS NULL
+              AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id))
+              AND (u.id = :viewerId
+                   OR EXISTS (SELECT 1 FROM Follow fo WHERE fo.follower.id = :viewerId AND fo.following.id = u.id))
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Finch> findFollowingFeedPage(@Param("viewerId") UUID viewerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Pageable pageable);
+
+    @Query("""
+            SELECT f.parentFinch.id AS finchId, COUNT(f) AS count FROM Finch f
+            WHERE f.parentFinch.id IN :finchIds
+            GROUP BY f.parentFinch.id
+            """)
+    List<FinchCount> countRepliesByParentIds(@Param("finchIds") Collection<UUID> finchIds);
+
+    @Query("SELECT f FROM Finch f JOIN FETCH f.user WHERE f.id IN :ids")
+    List<Finch> findAllWithUserByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT DISTINCT f FROM Finch f JOIN FETCH f.user LEFT JOIN FETCH f.images WHERE f.id IN :ids")
+    List<Finch> findAllWithUserAndImagesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT DISTINCT f FROM Finch f LEFT JOIN FETCH f.images WHERE f.id IN :ids")
+    List<Finch> findAllWithImagesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Ids of a finch and the replies the viewer may see down to {@code depth} levels, walked in one recursive
+     * query and cut off breadth first after {@code limit} rows. A hidden reply hides its subtree.
+     */
+    @Query(value = """
+            WITH RECURSIVE thread (id, depth) AS (
+                SELECT f.id, 0 FROM finch f WHERE f.id = :rootId
+                UNION ALL
+                SELECT r.id, t.depth + 1 FROM finch r JOIN thread t ON r.parent_id = t.id
+                JOIN `user` u ON u.id = r.user_id
+                WHERE t.depth < :depth AND
+                """ + Visibility.NATIVE_AUTHOR + """
+            )
+            SELECT id FROM thread ORDER BY depth LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findThreadIds(@Param("rootId") String rootId,
+                               @Param("viewerId") String viewerId,
+                               @Param("depth") int depth,
+                               @Param("limit") int limit);
+
+    /**
+     * The first {@code limit} replies the viewer may see, oldest first, of each given finch; one index range
+     * per parent. {@code position} numbers the replies of one parent from 1.
+     */
+    @Query(value = """
+            SELECT c.id AS id, p.id AS parentId, c.position AS position FROM finch p
+            CROSS JOIN LATERAL (
+                SELECT r.id, ROW_NUMBER() OVER (ORDER BY r.created_at, r.id) AS position
+                FROM finch r JOIN `user` u ON u.id = r.user_id
+                WHERE r.parent_id = p.id AND
+                """ + Visibility.NATIVE_AUTHOR + """
+                ORDER BY r.created_at, r.id
+                LIMIT :limit
+            ) AS c
+            WHERE p.id IN (:parentIds)
+            """, nativeQuery = true)
+    List<ReplyRef> findFirstReplies(@Param("parentIds") Collection<String> parentIds,
+                                    @Param("viewerId") String viewerId,
+                                    @Param("limit") int limit);
+
+    @Query("""
+            SELECT f FROM Finch f JOIN FETCH f.user u
+            WHERE f.parentFinch.id = :parentId
+              AND (f.createdAt > :createdAt OR (f.createdAt = :createdAt AND f.id > :id))
+              AND """ + Visibility.AUTHOR + """
+            ORDER BY f.createdAt ASC, f.id ASC
+            """)
+    List<Finch> findReplyPage(@Param("parentId") UUID parentId,
+                              @Param("viewerId") UUID viewerId,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") UUID id,
+                              Pageable pageable);
+
+    @Query("SELECT f FROM Finch f JOIN FETCH f.user u WHERE u.id = :userId")
+    List<Finch> findAllWithUserByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("UPDATE Finch f SET f.likeCount = f.likeCount + :delta WHERE f.id = :id")
+    int adjustLikeCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Finch f SET f.replyCount = f.replyCount + :delta WHERE f.id = :id")
+    int adjustReplyCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Finch f SET f.repostCount = f.repostCount + :delta WHERE f.id = :id")
+    int adjustRepostCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Finch f SET f.bookmarkCount = f.bookmarkCount + :delta WHERE f.id = :id")
+    int adjustBookmarkCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Query("""
+            SELECT f FROM FinchTag t JOIN t.finch f JOIN FETCH f.user u
+            WHERE t.tag = :tag
+              AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND f.id < :id))
+              AND """ + Visibility.AUTHOR + """
+            ORDER BY t.createdAt DESC, f.id DESC
+            """)
+    List<Finch> findTagPage(@Param("tag") String tag,
+                            @Param("viewerId") UUID viewerId,
+                            @Param("createdAt") LocalDateTime createdAt,
+                            @Param("id") UUID id,
+                            Pageable pageable);
+
+    @Query("""
+            SELECT f FROM FinchMention m JOIN m.finch f JOIN FETCH f.user u
+            WHERE m.user.id = :mentionedId
+              AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND f.id < :id))
+              AND """ + Visibility.AUTHOR + """
+            ORDER BY m.createdAt DESC, f.id DESC
+            """)
+    List<Finch> findMentionPage(@Param("mentionedId") UUID mentionedId,
+                                @Param("viewerId") UUID viewerId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") UUID id,
+                                Pageable pageable);
+
+    @Query("""
+            SELECT f.id AS finchId, u.id AS authorId, f.createdAt AS createdAt,
+                   f.likeCount AS likeCount, f.replyCount AS replyCount,
+                   f.repostCount AS repostCount, f.bookmarkCount AS bookmarkCount
+            FROM Finch f JOIN f.user u
+            WHERE f.parentFinch IS NULL AND u.isPrivate = false AND f.createdAt >= :since
+            ORDER BY f.createdAt DESC
+            """)
+    List<RankingCandidate> findRankingCandidates(@Param("since") LocalDateTime since, Pageable pageable);
+
+    @Query("""
+            SELECT f.id AS finchId, u.id AS authorId, f.createdAt AS createdAt,
+                   f.likeCount AS likeCount, f.replyCount AS replyCount,
+                   f.repostCount AS repostCount, f.bookmarkCount AS bookmarkCount
+            FROM Finch f JOIN f.user u
+            WHERE f.id IN :ids AND f.parentFinch IS NULL AND u.isPrivate = false
+            """)
+    List<RankingCandidate> findRankingCandidatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT f.id FROM Finch f WHERE f.id > :after ORDER BY f.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("""
+            SELECT f.id AS finchId, f.likeCount AS likeCount, f.replyCount AS replyCount,
+                   f.repostCount AS repostCount, f.bookmarkCount AS bookmarkCount
+            FROM Finch f WHERE f.id IN :ids
+            """)
+    List<FinchCounters> findCountersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Overwrites all counters only if none of them moved since {@code seen} was read, so a concurrent
+     * increment is never lost; a skipped row is simply picked up again by the next reconciliation run.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Finch f
+            SET f.likeCount = :likes, f.replyCount = :replies, f.repostCount = :reposts, f.bookmarkCount = :bookmarks
+            WHERE f.id = :id
+              AND f.likeCount = :seenLikes AND f.replyCount = :seenReplies
+              AND f.repostCount = :seenReposts AND f.bookmarkCount = :seenBookmarks
+            """)
+    int replaceCounters(@Param("id") UUID id,
+                        @Param("likes") long likes,
+                        @Param("replies") long replies,
+                        @Param("reposts") long reposts,
+                        @Param("bookmarks") long bookmarks,
+                        @Param("seenLikes") long seenLikes,
+                        @Param("seenReplies") long seenReplies,
+                        @Param("seenReposts") long seenReposts,
+                        @Param("seenBookmarks") long seenBookmarks);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.rjhtctn.finch_backend.repository;
+
+import java.util.UUID;
+
+public interface FollowEdge {
+    Long getId();
+    UUID getFollowerId();
+    UUID getFollowingId();
+}
@@ -2,11 +2,15 @@ package com.rjhtctn.finch_backend.repository;
 
 import com.rjhtctn.finch_backend.model.Follow;
 import com.rjhtctn.finch_backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface FollowRepository extends JpaRepository<Follow, Long> {
@@ -16,4 +20,17 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     List<Follow> findAllByFollower(User follower);
 
     List<Follow> findAllByFollowing(User following);
+
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.following.id = :userId")
+    List<UUID> findFollowerIds(@Param("userId") UUID userId);
+
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :userId")
+    List<UUID> findFollowingIds(@Param("userId") UUID userId);
+
+    long countByFollower(User follower);
+
+    long countByFollowing(User following);
+
+    @Query("SELECT f.id AS id, f.follower.id AS followerId, f.following.id AS followingId FROM Follow f WHERE f.id > :after ORDER BY f.id")
+    List<FollowEdge> findEdgesAfter(@Param("after") long after, Pageable pageable);
 }
\ No newline at end of file
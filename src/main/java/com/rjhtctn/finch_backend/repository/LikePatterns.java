@@ -0,0 +1,31 @@
+package com.rjhtctn.finch_backend.repository;
+
+import java.util.Locale;
+
+/**
+ * Builds {@code LIKE} patterns from user input. {@code %} and {@code _} in the input are escaped with
+ * {@link #ESCAPE} so they match literally instead of widening the search to every row.
+ */
+final class LikePatterns {
+
+    /**
+     * Escape character for the {@code ESCAPE} clause. Not a backslash, which MySQL would also read as an
+     * escape inside the rendered string literal.
+     */
+    static final char ESCAPE = '!';
+
+    private LikePatterns() {
+    }
+
+    /** Lower-cased {@code %input%} for matching against {@code LOWER(column)}. */
+    static String contains(String input) {
+        String lower = input.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lower.length() + 2).append('%');
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == ESCAPE || c == '%' || c == '_') pattern.append(ESCAPE);
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -3,10 +3,16 @@ package com.rjhtctn.finch_backend.repository;
 import com.rjhtctn.finch_backend.model.Finch;
 import com.rjhtctn.finch_backend.model.Like;
 import com.rjhtctn.finch_backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
@@ -14,5 +20,20 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     Optional<Like> findByUserAndFinch(User user, Finch finch);
     List<Like> findAllByFinch(Finch finch);
     List<Like> findAllByUser(User user);
-    int countByFinch(Finch finch);
+
+    @Query("SELECT l.finch.id AS finchId, COUNT(l) AS count FROM Like l WHERE l.finch.id IN :finchIds GROUP BY l.finch.id")
+    List<FinchCount> countByFinchIds(@Param("finchIds") Collection<UUID> finchIds);
+
+    @Query("""
+            SELECT f.user.id AS authorId, COUNT(l) AS count FROM Like l JOIN l.finch f
+            WHERE l.user.id = :userId AND l.createdAt >= :since
+            GROUP BY f.user.id
+            ORDER BY COUNT(l) DESC
+            """)
+    List<AuthorAffinity> findLikedAuthors(@Param("userId") UUID userId,
+                                          @Param("since") LocalDateTime since,
+                                          Pageable pageable);
+
+    @Query("SELECT l.finch.id FROM Like l WHERE l.user.id = :userId")
+    List<UUID> findFinchIdsByUserId(@Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.rjhtctn.finch_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface RankingCandidate {
+    UUID getFinchId();
+    UUID getAuthorId();
+    LocalDateTime getCreatedAt();
+    long getLikeCount();
+    long getReplyCount();
+    long getRepostCount();
+    long getBookmarkCount();
+}
@@ -1,17 +1,78 @@
 package com.rjhtctn.finch_backend.repository;
 
 import com.rjhtctn.finch_backend.model.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface RefinchRepository extends JpaRepository<ReFinch, Long> {
     boolean existsByUserAndFinch(User user, Finch finch);
     Optional<ReFinch> findByUserAndFinch(User user, Finch finch);
-    long countByFinch(Finch finch);
     boolean existsByFinch(Finch finch);
     Optional<List<ReFinch>>  findByUser(User user);
+
+    @Query("SELECT r.finch.id AS finchId, COUNT(r) AS count FROM ReFinch r WHERE r.finch.id IN :finchIds GROUP BY r.finch.id")
+    List<FinchCount> countByFinchIds(@Param("finchIds") Collection<UUID> finchIds);
+
+    @Query("SELECT r.finch.id FROM ReFinch r WHERE r.user.id = :userId")
+    List<UUID> findFinchIdsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT r.user.id FROM ReFinch r WHERE r.finch.id = :finchId")
+    List<UUID> findUserIdsByFinchId(@Param("finchId") UUID finchId);
+
+    @Query("""
+            SELECT r FROM ReFinch r JOIN FETCH r.user u JOIN FETCH r.finch f JOIN FETCH f.user a
+            WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+              AND """ + Visibility.AUTHOR + """
+              AND """ + Visibility.ORIGINAL_AUTHOR + """
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReFinch> findGlobalFeedPage(@Param("viewerId") UUID viewerId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") long id,
+                                     Pageable pageable);
+
+    @Query("""
+            SELECT r FROM ReFinch r JOIN FETCH r.user u JOIN FETCH r.finch f JOIN FETCH f.user a
+            WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+              AND u.isPrivate = false AND a.isPrivate = false
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReFinch> findPublicFeedPage(@Param("createdAt") Instant createdAt,
+                                     @Param("id") long id,
+                                     Pageable pageable);
+
+    @Query("""
+            SELECT r FROM ReFinch r JOIN FETCH r.user u JOIN FETCH r.finch f JOIN FETCH f.user a
+            WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+              AND (u.isPrivate = true OR a.isPrivate = true)
+              AND """ + Visibility.AUTHOR + """
+              AND """ + Visibility.ORIGINAL_AUTHOR + """
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReFinch> findPrivateFeedPage(@Param("viewerId") UUID viewerId,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") long id,
+                                      Pageable pageable);
+
+    @Query("""
+            SELECT r FROM ReFinch r JOIN FETCH r.user u JOIN FETCH r.finch f JOIN FETCH f.user
+            WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+              AND (u.id = :viewerId
+                   OR EXISTS (SELECT 1 FROM Follow fo WHERE fo.follower.id = :viewerId AND fo.following.id = u.id))
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReFinch> findFollowingFeedPage(@Param("viewerId") UUID viewerId,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") long id,
+                                        Pageable pageable);
 }
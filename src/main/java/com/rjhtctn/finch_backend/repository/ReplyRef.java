@@ -0,0 +1,7 @@
+package com.rjhtctn.finch_backend.repository;
+
+public interface ReplyRef {
+    String getId();
+    String getParentId();
+    long getPosition();
+}
@@ -4,7 +4,11 @@ import com.rjhtctn.finch_backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,7 +21,38 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByUsernameOrEmail(String username, String email);
 
-    Page<User> findByUsernameContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrBioContainingIgnoreCase(
-            String username, String firstName, String lastName, String bio, Pageable pageable
-    );
+    List<User> findAllByUsernameIn(Collection<String> usernames);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    @Query(value = """
+            SELECT u FROM User u
+            WHERE (LOWER(u.username) LIKE :pattern ESCAPE '!'
+                   OR LOWER(u.firstName) LIKE :pattern ESCAPE '!'
+                   OR LOWER(u.lastName) LIKE :pattern ESCAPE '!'
+                   OR LOWER(u.bio) LIKE :pattern ESCAPE '!')
+              AND """ + Visibility.AUTHOR)
+    Page<User> searchVisibleByPattern(@Param("pattern") String pattern, @Param("viewerId") UUID viewerId,
+                                      Pageable pageable);
+
+    /** Case-insensitive substring search; wildcards in {@code query} match literally. */
+    default Page<User> searchVisible(String query, UUID viewerId, Pageable pageable) {
+        return searchVisibleByPattern(LikePatterns.contains(query), viewerId, pageable);
+    }
+
+    @Query(value = """
+            SELECT u.id FROM `user` u
+            WHERE MATCH(u.username, u.first_name, u.last_name, u.bio) AGAINST (:query IN BOOLEAN MODE) AND
+            """ + Visibility.NATIVE_AUTHOR + """
+            ORDER BY MATCH(u.username, u.first_name, u.last_name, u.bio) AGAINST (:query IN BOOLEAN MODE) DESC,
+                     u.username
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM `user` u
+            WHERE MATCH(u.username, u.first_name, u.last_name, u.bio) AGAINST (:query IN BOOLEAN MODE) AND
+            """ + Visibility.NATIVE_AUTHOR,
+            nativeQuery = true)
+    Page<String> searchFullTextIds(@Param("query") String query,
+                                   @Param("viewerId") String viewerId,
+                                   Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.rjhtctn.finch_backend.repository;
+
+/**
+ * JPQL predicates shared by queries that may only return rows the viewer is allowed to see. Each expects
+ * a {@code :viewerId} parameter and the alias named in its description.
+ */
+final class Visibility {
+
+    /** Author joined as {@code u} is public, is the viewer, or is followed by the viewer. */
+    static final String AUTHOR = """
+            (u.isPrivate = false OR u.id = :viewerId
+             OR EXISTS (SELECT 1 FROM Follow fo WHERE fo.follower.id = :viewerId AND fo.following.id = u.id))
+            """;
+
+    /** Same rule for the author of a reposted finch, joined as {@code a}. */
+    static final String ORIGINAL_AUTHOR = """
+            (a.isPrivate = false OR a.id = :viewerId
+             OR EXISTS (SELECT 1 FROM Follow fa WHERE fa.follower.id = :viewerId AND fa.following.id = a.id))
+            """;
+
+    /** Native SQL form of {@link #AUTHOR}, for an author row joined as {@code u}; {@code :viewerId} is a string. */
+    static final String NATIVE_AUTHOR = """
+            (u.is_private = false OR u.id = :viewerId
+             OR EXISTS (SELECT 1 FROM follow fo WHERE fo.follower_id = :viewerId AND fo.following_id = u.id))
+            """;
+
+    private Visibility() {
+    }
+}
@@ -0,0 +1,122 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL {@code MATCH ... AGAINST} in boolean mode over finch content and user profile fields, ordered by
+ * relevance. Each query word must match as a prefix. Words shorter than the server's
+ * {@code innodb_ft_min_token_size} are not indexed and are dropped from the query.
+ *
+ * <p>Hibernate cannot declare FULLTEXT indexes, so they are created here on startup when missing.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "finch.search.backend", havingValue = "fulltext")
+public class FullTextSearchBackend implements SearchBackend {
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private static final String[][] INDEXES = {
+            {"finch", "ft_finch_content", "content"},
+            {"user", "ft_user_profile", "username, first_name, last_name, bio"},
+    };
+
+    private final UserRepository userRepository;
+    private final FinchRepository finchRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public FullTextSearchBackend(UserRepository userRepository,
+                                 FinchRepository finchRepository,
+                                 JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.finchRepository = finchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "fulltext";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        for (String[] index : INDEXES) {
+            Integer existing = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM information_schema.statistics
+                    WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?
+                    """, Integer.class, index[0], index[1]);
+            if (existing != null && existing > 0) continue;
+
+            long started = System.currentTimeMillis();
+            jdbcTemplate.execute("ALTER TABLE `" + index[0] + "` ADD FULLTEXT INDEX " + index[1] + " (" + index[2] + ")");
+            log.info("Created FULLTEXT index {} in {} ms.", index[1], System.currentTimeMillis() - started);
+        }
+    }
+
+    @Override
+    public Page<User> searchUsers(String query, UUID viewerId, Pageable pageable) {
+        String match = toBooleanQuery(query);
+        if (match == null) return Page.empty(pageable);
+
+        Page<UUID> ids = userRepository.searchFullTextIds(match, viewerId.toString(), unsorted(pageable))
+                .map(UUID::fromString);
+        Map<UUID, User> users = userRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return inOrder(ids, users);
+    }
+
+    @Override
+    public Page<Finch> searchFinches(String query, UUID viewerId, Pageable pageable) {
+        String match = toBooleanQuery(query);
+        if (match == null) return Page.empty(pageable);
+
+        Page<UUID> ids = finchRepository.searchFullTextIds(match, viewerId.toString(), unsorted(pageable))
+                .map(UUID::fromString);
+        Map<UUID, Finch> finches = ids.isEmpty() ? Map.of() :
+                finchRepository.findAllWithUserByIdIn(ids.getContent()).stream()
+                        .collect(Collectors.toMap(Finch::getId, Function.identity()));
+        return inOrder(ids, finches);
+    }
+
+    /**
+     * Turns free text into {@code +word*} terms. Boolean-mode operators are stripped from the input so
+     * user text can never change the query structure.
+     */
+    static String toBooleanQuery(String query) {
+        StringBuilder match = new StringBuilder();
+        for (String word : query.split("[^\\p{L}\\p{N}_]+")) {
+            if (word.length() < MIN_TOKEN_LENGTH) continue;
+            if (!match.isEmpty()) match.append(' ');
+            match.append('+').append(word).append('*');
+        }
+        return match.isEmpty() ? null : match.toString();
+    }
+
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private static <T> Page<T> inOrder(Page<UUID> ids, Map<UUID, T> rows) {
+        List<T> ordered = ids.getContent().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+}
@@ -0,0 +1,40 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import java.util.UUID;
+
+/** Substring matching with {@code LIKE '%q%'}. Honors the requested sort; needs no index but scans. */
+@Component
+@ConditionalOnProperty(name = "finch.search.backend", havingValue = "like", matchIfMissing = true)
+public class LikeSearchBackend implements SearchBackend {
+
+    private final UserRepository userRepository;
+    private final FinchRepository finchRepository;
+
+    public LikeSearchBackend(UserRepository userRepository, FinchRepository finchRepository) {
+        this.userRepository = userRepository;
+        this.finchRepository = finchRepository;
+    }
+
+    @Override
+    public String name() {
+        return "like";
+    }
+
+    @Override
+    public Page<User> searchUsers(String query, UUID viewerId, Pageable pageable) {
+        return userRepository.searchVisible(query, viewerId, pageable);
+    }
+
+    @Override
+    public Page<Finch> searchFinches(String query, UUID viewerId, Pageable pageable) {
+        return finchRepository.searchVisible(query, viewerId, pageable);
+    }
+}
@@ -0,0 +1,68 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.service.FollowService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Relevance-ranked search over the embedded {@link SearchIndex}; the requested sort is ignored. */
+@Component
+@ConditionalOnProperty(name = "finch.search.backend", havingValue = "lucene")
+public class LuceneSearchBackend implements SearchBackend {
+
+    private final SearchIndex searchIndex;
+    private final FollowService followService;
+    private final UserRepository userRepository;
+    private final FinchRepository finchRepository;
+
+    public LuceneSearchBackend(SearchIndex searchIndex,
+                               FollowService followService,
+                               UserRepository userRepository,
+                               FinchRepository finchRepository) {
+        this.searchIndex = searchIndex;
+        this.followService = followService;
+        this.userRepository = userRepository;
+        this.finchRepository = finchRepository;
+    }
+
+    @Override
+    public String name() {
+        return "lucene";
+    }
+
+    @Override
+    public Page<User> searchUsers(String query, UUID viewerId, Pageable pageable) {
+        Page<UUID> ids = searchIndex.searchPage(SearchIndex.Kind.USER, query, viewerId,
+                followService.getFollowingIds(viewerId), pageable);
+        Map<UUID, User> users = userRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return inOrder(ids, users);
+    }
+
+    @Override
+    public Page<Finch> searchFinches(String query, UUID viewerId, Pageable pageable) {
+        Page<UUID> ids = searchIndex.searchPage(SearchIndex.Kind.FINCH, query, viewerId,
+                followService.getFollowingIds(viewerId), pageable);
+        Map<UUID, Finch> finches = ids.isEmpty() ? Map.of() :
+                finchRepository.findAllWithUserByIdIn(ids.getContent()).stream()
+                        .collect(Collectors.toMap(Finch::getId, Function.identity()));
+        return inOrder(ids, finches);
+    }
+
+    private static <T> Page<T> inOrder(Page<UUID> ids, Map<UUID, T> rows) {
+        List<T> ordered = ids.getContent().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+}
@@ -0,0 +1,21 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.util.UUID;
+
+/**
+ * Executes the page-numbered user and finch searches. Implementations only return rows the viewer may
+ * see, with finch authors loaded. Which one is active is chosen with {@code finch.search.backend}
+ * ({@code like}, {@code fulltext} or {@code lucene}).
+ */
+public interface SearchBackend {
+
+    String name();
+
+    Page<User> searchUsers(String query, UUID viewerId, Pageable pageable);
+
+    Page<Finch> searchFinches(String query, UUID viewerId, Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package com.rjhtctn.finch_backend.search;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Small bounded pool for running independent search branches side by side. When the pool and its queue
+ * are full a branch is not run at all and its future fails at once, so overload degrades to partial
+ * results rather than to an unbounded backlog or a caller that waits past the deadline.
+ */
+@Component
+public class SearchBranchExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public SearchBranchExecutor(@Value("${finch.search.branch-threads:8}") int threads,
+                                @Value("${finch.search.branch-queue:64}") int queueCapacity,
+                                @Value("${finch.search.branch-timeout-ms:800}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "search-branch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> branch) {
+        try {
+            return CompletableFuture.supplyAsync(branch, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.rjhtctn.finch_backend.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a relevance-ranked result list: score, then newest first, then id. Scores of the
+ * same document can drift slightly when the index is refreshed between two pages, so a page boundary is
+ * exact for a stable index and approximate while it is being written to.
+ */
+public record SearchCursor(float score, long createdAt, UUID id) {
+
+    public String encode() {
+        String raw = score + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid search cursor.");
+            return new SearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor.");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.rjhtctn.finch_backend.search;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Ids of one result page in rank order, and the cursor of the next page or {@code null}. */
+public record SearchHits(List<UUID> ids, String nextCursor) {
+
+    public static final SearchHits EMPTY = new SearchHits(List.of(), null);
+}
@@ -0,0 +1,257 @@
+package com.rjhtctn.finch_backend.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Embedded Lucene index over finch content and user profiles, memory-mapped from local disk.
+ *
+ * <p>Writes go through a single {@link IndexWriter} and become searchable on {@link #refresh()}
+ * (near-real-time, no commit needed); {@link #commit()} makes them durable. Every document carries its
+ * author id and the author's privacy flag, so visibility is applied inside the query and a page never
+ * has to be over-fetched to make up for hidden hits.
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    public enum Kind { FINCH, USER }
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String AUTHOR = "author";
+    private static final String PARENT = "parent";
+    private static final String PRIVATE = "private";
+    private static final String CREATED_AT = "createdAt";
+    private static final String CONTENT = "content";
+    private static final String USERNAME = "username";
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String BIO = "bio";
+
+    private static final Map<String, Float> FINCH_FIELDS = Map.of(CONTENT, 1f);
+    private static final Map<String, Float> USER_FIELDS = Map.of(USERNAME, 3f, FIRST_NAME, 2f, LAST_NAME, 2f, BIO, 1f);
+
+    private static final int MAX_OFFSET_WINDOW = 1000;
+
+    private static final Sort RELEVANCE = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(CREATED_AT, SortField.Type.LONG, true),
+            new SortField(ID, SortField.Type.STRING));
+
+    private final Path path;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public SearchIndex(@Value("${finch.search.index-dir:data/search-index}") String path) {
+        this.path = Path.of(path);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(path);
+        directory = new MMapDirectory(path);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    public void upsertFinch(UUID id, UUID authorId, UUID parentId, boolean authorPrivate,
+                            String content, Instant createdAt) {
+        Document doc = base(Kind.FINCH, id, authorId, authorPrivate, createdAt);
+        if (parentId != null) doc.add(new StringField(PARENT, parentId.toString(), Field.Store.NO));
+        if (content != null) doc.add(new TextField(CONTENT, content, Field.Store.NO));
+        update(Kind.FINCH, id, doc);
+    }
+
+    public void upsertUser(UUID id, boolean isPrivate, String username, String firstName, String lastName,
+                           String bio, Instant createdAt) {
+        Document doc = base(Kind.USER, id, id, isPrivate, createdAt);
+        doc.add(new TextField(USERNAME, username, Field.Store.NO));
+        if (firstName != null) doc.add(new TextField(FIRST_NAME, firstName, Field.Store.NO));
+        if (lastName != null) doc.add(new TextField(LAST_NAME, lastName, Field.Store.NO));
+        if (bio != null) doc.add(new TextField(BIO, bio, Field.Store.NO));
+        update(Kind.USER, id, doc);
+    }
+
+    public void delete(Kind kind, UUID id) {
+        write(() -> writer.deleteDocuments(new Term(KEY, key(kind, id))));
+    }
+
+    /** Removes the direct replies of a deleted finch; deeper descendants are dropped when they are hydrated. */
+    public void deleteReplies(UUID parentId) {
+        write(() -> writer.deleteDocuments(new Term(PARENT, parentId.toString())));
+    }
+
+    public void deleteByAuthor(UUID authorId) {
+        write(() -> writer.deleteDocuments(new Term(AUTHOR, authorId.toString())));
+    }
+
+    public void deleteAll(Kind kind) {
+        write(() -> writer.deleteDocuments(new Term(TYPE, kind.name())));
+    }
+
+    public void refresh() {
+        write(searcherManager::maybeRefresh);
+    }
+
+    public void commit() {
+        write(writer::commit);
+    }
+
+    /**
+     * Relevance-ranked search restricted to documents whose author is public, is the viewer or is one of
+     * {@code followingIds}. Ties on score are broken newest first, then by id.
+     */
+    public SearchHits search(Kind kind, String text, UUID viewerId, Collection<UUID> followingIds,
+                             SearchCursor after, int size) {
+        Query query = visibleQuery(kind, text, viewerId, followingIds);
+        if (query == null) return SearchHits.EMPTY;
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // the sort ends on the unique id, so the doc id only decides ties with the cursor hit itself:
+                // the last valid one is accepted by the reader and counts that hit as already collected
+                int lastDoc = searcher.getIndexReader().maxDoc() - 1;
+                FieldDoc afterDoc = after == null ? null : new FieldDoc(lastDoc, after.score(),
+                        new Object[]{after.score(), after.createdAt(), new BytesRef(after.id().toString())});
+                TopFieldDocs top = searcher.searchAfter(afterDoc, query, size + 1, RELEVANCE, true);
+
+                List<UUID> ids = new ArrayList<>(Math.min(size, top.scoreDocs.length));
+                SearchCursor last = null;
+                for (int i = 0; i < top.scoreDocs.length && ids.size() < size; i++) {
+                    FieldDoc hit = (FieldDoc) top.scoreDocs[i];
+                    UUID id = UUID.fromString(((BytesRef) hit.fields[2]).utf8ToString());
+                    ids.add(id);
+                    last = new SearchCursor(hit.score, (Long) hit.fields[1], id);
+                }
+                String nextCursor = top.scoreDocs.length > size ? last.encode() : null;
+                return new SearchHits(ids, nextCursor);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Offset-addressed variant of {@link #search} for page-numbered callers. Pages are only served within
+     * the first {@value #MAX_OFFSET_WINDOW} hits, and the total is exact up to Lucene's hit-count
+     * threshold and a lower bound beyond it.
+     */
+    public Page<UUID> searchPage(Kind kind, String text, UUID viewerId, Collection<UUID> followingIds,
+                                 Pageable pageable) {
+        Query query = visibleQuery(kind, text, viewerId, followingIds);
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (query == null || end > MAX_OFFSET_WINDOW) return Page.empty(pageable);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs top = searcher.search(query, (int) end, RELEVANCE, false);
+                List<UUID> ids = new ArrayList<>(pageable.getPageSize());
+                for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                    FieldDoc hit = (FieldDoc) top.scoreDocs[i];
+                    ids.add(UUID.fromString(((BytesRef) hit.fields[2]).utf8ToString()));
+                }
+                return new PageImpl<>(ids, pageable, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query visibleQuery(Kind kind, String text, UUID viewerId, Collection<UUID> followingIds) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, kind == Kind.FINCH ? FINCH_FIELDS : USER_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(text);
+        if (parsed == null) return null;
+
+        List<BytesRef> visibleAuthors = new ArrayList<>(followingIds.size() + 1);
+        visibleAuthors.add(new BytesRef(viewerId.toString()));
+        followingIds.forEach(id -> visibleAuthors.add(new BytesRef(id.toString())));
+        Query visible = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(PRIVATE, "false")), BooleanClause.Occur.SHOULD)
+                .add(new TermInSetQuery(AUTHOR, visibleAuthors), BooleanClause.Occur.SHOULD)
+                .build();
+        return new BooleanQuery.Builder()
+                .add(parsed, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(TYPE, kind.name())), BooleanClause.Occur.FILTER)
+                .add(visible, BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private static Document base(Kind kind, UUID id, UUID authorId, boolean isPrivate, Instant createdAt) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(kind, id), Field.Store.NO));
+        doc.add(new StringField(TYPE, kind.name(), Field.Store.NO));
+        doc.add(new SortedDocValuesField(ID, new BytesRef(id.toString())));
+        doc.add(new StringField(AUTHOR, authorId.toString(), Field.Store.NO));
+        doc.add(new StringField(PRIVATE, String.valueOf(isPrivate), Field.Store.NO));
+        doc.add(new NumericDocValuesField(CREATED_AT, createdAt.toEpochMilli()));
+        return doc;
+    }
+
+    private void update(Kind kind, UUID id, Document doc) {
+        write(() -> writer.updateDocument(new Term(KEY, key(kind, id)), doc));
+    }
+
+    private static String key(Kind kind, UUID id) {
+        return kind.name() + ":" + id;
+    }
+
+    private static void write(IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+}
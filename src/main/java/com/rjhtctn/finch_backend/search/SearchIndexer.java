@@ -0,0 +1,226 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.event.*;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link SearchIndex} in step with the database. Write paths only leave ids behind after commit;
+ * a background pass reloads those rows in batches, writes them to the index and refreshes the searcher,
+ * so new content is searchable about a second later without any index work on the request thread.
+ */
+@Slf4j
+@Component
+public class SearchIndexer {
+
+    private static final int BATCH_SIZE = 500;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final SearchIndex searchIndex;
+    private final FinchRepository finchRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean rebuildOnStart;
+    private final ExecutorService rebuildRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<UUID> pendingFinches = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingUsers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingAuthors = ConcurrentHashMap.newKeySet();
+
+    public SearchIndexer(SearchIndex searchIndex,
+                         FinchRepository finchRepository,
+                         UserRepository userRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${finch.search.rebuild-on-start:false}") boolean rebuildOnStart) {
+        this.searchIndex = searchIndex;
+        this.finchRepository = finchRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStart = rebuildOnStart;
+    }
+
+    @TransactionalEventListener
+    public void onFinchCreated(FinchCreatedEvent event) {
+        pendingFinches.add(event.finchId());
+    }
+
+    @TransactionalEventListener
+    public void onFinchUpdated(FinchUpdatedEvent event) {
+        pendingFinches.add(event.finchId());
+    }
+
+    @TransactionalEventListener
+    public void onFinchDeleted(FinchDeletedEvent event) {
+        pendingFinches.remove(event.finchId());
+        searchIndex.delete(SearchIndex.Kind.FINCH, event.finchId());
+        searchIndex.deleteReplies(event.finchId());
+    }
+
+    @TransactionalEventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        pendingUsers.add(event.userId());
+    }
+
+    @TransactionalEventListener
+    public void onUserPrivacyChanged(UserPrivacyChangedEvent event) {
+        pendingUsers.add(event.userId());
+        pendingAuthors.add(event.userId());
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        pendingUsers.remove(event.userId());
+        pendingAuthors.remove(event.userId());
+        searchIndex.delete(SearchIndex.Kind.USER, event.userId());
+        searchIndex.deleteByAuthor(event.userId());
+    }
+
+    /** Rebuilds on a background thread; searches return what is indexed so far until it finishes. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        if (!rebuildOnStart && !searchIndex.isEmpty()) return;
+        rebuildRunner.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Search index rebuild failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildRunner.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${finch.search.index-interval-ms:1000}")
+    @Transactional(readOnly = true)
+    public void indexPending() {
+        boolean changed = indexFinches(drain(pendingFinches));
+        changed |= indexUsers(drain(pendingUsers));
+        for (UUID authorId : drain(pendingAuthors)) {
+            finchRepository.findAllWithUserByUserId(authorId).forEach(this::write);
+            changed = true;
+        }
+        if (changed) searchIndex.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${finch.search.commit-interval-ms:60000}")
+    public void commit() {
+        searchIndex.commit();
+    }
+
+    /**
+     * Drops every document and reindexes all finches and users from the database in id order. Each batch
+     * is read in its own short read-only transaction.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        searchIndex.deleteAll(SearchIndex.Kind.FINCH);
+        searchIndex.deleteAll(SearchIndex.Kind.USER);
+
+        int finches = 0;
+        List<UUID> ids;
+        UUID after = MIN_ID;
+        do {
+            UUID from = after;
+            ids = readOnlyTransaction.execute(status -> {
+                List<UUID> batch = finchRepository.findIdsAfter(from, PageRequest.of(0, BATCH_SIZE));
+                if (!batch.isEmpty()) finchRepository.findAllWithUserByIdIn(batch).forEach(this::write);
+                return batch;
+            });
+            if (ids.isEmpty()) break;
+            finches += ids.size();
+            after = ids.get(ids.size() - 1);
+        } while (ids.size() == BATCH_SIZE);
+
+        int users = 0;
+        List<User> batch;
+        after = MIN_ID;
+        do {
+            UUID from = after;
+            batch = readOnlyTransaction.execute(status -> {
+                List<User> page = userRepository.findByIdGreaterThanOrderByIdAsc(from, PageRequest.of(0, BATCH_SIZE));
+                page.forEach(this::write);
+                return page;
+            });
+            if (batch.isEmpty()) break;
+            users += batch.size();
+            after = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == BATCH_SIZE);
+
+        searchIndex.commit();
+        searchIndex.refresh();
+        log.info("Search index rebuilt: {} finches, {} users in {} ms.",
+                finches, users, System.currentTimeMillis() - started);
+    }
+
+    private boolean indexFinches(List<UUID> ids) {
+        if (ids.isEmpty()) return false;
+        Map<UUID, Finch> finches = finchRepository.findAllWithUserByIdIn(ids).stream()
+                .collect(Collectors.toMap(Finch::getId, Function.identity()));
+        for (UUID id : ids) {
+            Finch finch = finches.get(id);
+            if (finch == null) searchIndex.delete(SearchIndex.Kind.FINCH, id);
+            else write(finch);
+        }
+        return true;
+    }
+
+    private boolean indexUsers(List<UUID> ids) {
+        if (ids.isEmpty()) return false;
+        Map<UUID, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (UUID id : ids) {
+            User user = users.get(id);
+            if (user == null) searchIndex.delete(SearchIndex.Kind.USER, id);
+            else write(user);
+        }
+        return true;
+    }
+
+    private void write(Finch finch) {
+        searchIndex.upsertFinch(finch.getId(), finch.getUser().getId(),
+                finch.getParentFinch() != null ? finch.getParentFinch().getId() : null,
+                finch.getUser().isPrivate(), finch.getContent(),
+                finch.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private void write(User user) {
+        searchIndex.upsertUser(user.getId(), user.isPrivate(), user.getUsername(), user.getFirstName(),
+                user.getLastName(), user.getBio(), user.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static List<UUID> drain(Set<UUID> pending) {
+        if (pending.isEmpty()) return List.of();
+        List<UUID> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,175 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.event.FinchCreatedEvent;
+import com.rjhtctn.finch_backend.event.FinchUpdatedEvent;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Trigram postings of finch content in {@code finch_trigrams}. Candidates for a fuzzy query are the
+ * finches sharing enough trigrams with it; the query reads only the postings of the query trigrams, so
+ * its cost follows the number of matches rather than the size of the finch table.
+ *
+ * <p>Postings are rewritten after a finch is created or edited and disappear with the finch through
+ * the foreign key, which also covers replies removed together with their parent.
+ */
+@Slf4j
+@Component
+public class TrigramIndex {
+
+    private static final int BATCH_SIZE = 500;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final FinchRepository finchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService backfillRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "trigram-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TrigramIndex(FinchRepository finchRepository,
+                        JdbcTemplate jdbcTemplate,
+                        NamedParameterJdbcTemplate namedJdbcTemplate,
+                        PlatformTransactionManager transactionManager) {
+        this.finchRepository = finchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public record Candidate(UUID finchId, int overlap) {
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFinchCreated(FinchCreatedEvent event) {
+        reindex(event.finchId());
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFinchUpdated(FinchUpdatedEvent event) {
+        reindex(event.finchId());
+    }
+
+    /**
+     * Fills postings for finches that have none, after startup and off the startup thread. Each batch reads
+     * only ids and content and commits on its own, so the pass holds no long transaction and resumes where
+     * an interrupted one stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        backfillRunner.execute(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.warn("Trigram backfill failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillRunner.shutdownNow();
+    }
+
+    void backfill() {
+        long started = System.currentTimeMillis();
+        int finches = 0;
+        String after = MIN_ID.toString();
+        List<IndexedText> batch;
+        do {
+            if (Thread.currentThread().isInterrupted()) return;
+            batch = jdbcTemplate.query("""
+                    SELECT f.id, f.content FROM finch f
+                    WHERE f.id > ? AND NOT EXISTS (SELECT 1 FROM finch_trigrams t WHERE t.finch_id = f.id)
+                    ORDER BY f.id
+                    LIMIT ?
+                    """, (rs, rowNum) -> new IndexedText(rs.getString("id"), rs.getString("content")),
+                    after, BATCH_SIZE);
+            if (batch.isEmpty()) break;
+            List<Object[]> rows = new ArrayList<>();
+            for (IndexedText finch : batch) {
+                for (String trigram : Trigrams.ofText(finch.content())) {
+                    rows.add(new Object[]{trigram, finch.id()});
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> insert(rows));
+            finches += batch.size();
+            after = batch.get(batch.size() - 1).id();
+        } while (batch.size() == BATCH_SIZE);
+        if (finches > 0) {
+            log.info("Trigram index filled for {} finches in {} ms.", finches, System.currentTimeMillis() - started);
+        }
+    }
+
+    private record IndexedText(String id, String content) {
+    }
+
+    /**
+     * Finches sharing at least {@code minOverlap} of the given trigrams, most shared first. The grouping
+     * runs over the primary key range of each trigram and touches no finch rows.
+     */
+    public List<Candidate> candidates(Collection<String> trigrams, int minOverlap, int limit) {
+        if (trigrams.isEmpty()) return List.of();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("trigrams", trigrams)
+                .addValue("minOverlap", minOverlap)
+                .addValue("limit", limit);
+        return namedJdbcTemplate.query("""
+                SELECT finch_id, COUNT(*) AS overlap FROM finch_trigrams
+                WHERE trigram IN (:trigrams)
+                GROUP BY finch_id
+                HAVING COUNT(*) >= :minOverlap
+                ORDER BY overlap DESC
+                LIMIT :limit
+                """, params, (rs, rowNum) -> new Candidate(UUID.fromString(rs.getString("finch_id")), rs.getInt("overlap")));
+    }
+
+    private void reindex(UUID finchId) {
+        Finch finch = finchRepository.findById(finchId).orElse(null);
+        if (finch == null) return;
+
+        Set<String> wanted = Trigrams.ofText(finch.getContent());
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT trigram FROM finch_trigrams WHERE finch_id = ?", String.class, finchId.toString()));
+
+        List<Object[]> removed = new ArrayList<>();
+        for (String trigram : existing) {
+            if (!wanted.contains(trigram)) removed.add(new Object[]{trigram, finchId.toString()});
+        }
+        List<Object[]> added = new ArrayList<>();
+        for (String trigram : wanted) {
+            if (!existing.contains(trigram)) added.add(new Object[]{trigram, finchId.toString()});
+        }
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM finch_trigrams WHERE trigram = ? AND finch_id = ?", removed);
+        }
+        insert(added);
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        // IGNORE: the column collation may fold two distinct trigrams of one finch onto the same key.
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO finch_trigrams (trigram, finch_id) VALUES (?, ?)", rows);
+    }
+}
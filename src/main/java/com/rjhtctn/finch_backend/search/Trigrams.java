@@ -0,0 +1,78 @@
+package com.rjhtctn.finch_backend.search;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Text helpers for fuzzy matching: word splitting, padded word trigrams and a bounded edit distance.
+ * Each word is padded with one space on both sides, so a word of n characters yields n trigrams and its
+ * first and last letters carry their own trigrams.
+ */
+public final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    public static List<String> words(String text) {
+        if (text == null) return List.of();
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}_]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    public static Set<String> of(String word) {
+        String padded = " " + word + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            String trigram = padded.substring(i, i + 3);
+            if (trigram.chars().noneMatch(c -> Character.isSurrogate((char) c))) trigrams.add(trigram);
+        }
+        return trigrams;
+    }
+
+    public static Set<String> ofText(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : words(text)) trigrams.addAll(of(word));
+        return trigrams;
+    }
+
+    /** Edits allowed for a query word: none below four letters, one up to six, two beyond. */
+    public static int allowedEdits(String word) {
+        if (word.length() < 4) return 0;
+        return word.length() <= 6 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and {@code b}, or {@code max + 1} as soon as it is known to
+     * exceed {@code max}. Only the diagonal band of width {@code 2 * max + 1} is computed.
+     */
+    public static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            current[0] = i;
+            if (from > 1) current[from - 1] = max + 1;
+            int rowMin = from > 1 ? max + 1 : i;
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = Math.min(value, max + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) current[to + 1] = max + 1;
+            if (rowMin > max) return max + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
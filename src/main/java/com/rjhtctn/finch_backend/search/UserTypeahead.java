@@ -0,0 +1,218 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.event.UserDeletedEvent;
+import com.rjhtctn.finch_backend.event.UserPrivacyChangedEvent;
+import com.rjhtctn.finch_backend.event.UserUpdatedEvent;
+import com.rjhtctn.finch_backend.graph.FollowGraph;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over username, first name and last name for search-as-you-type.
+ *
+ * <p>Every lower-cased name is a key {@code name + '\0' + userId} in a sorted map, so all users with a
+ * given prefix are one contiguous range. A lookup reads the viewer's followed users first, then the range,
+ * ranking by follower count from {@link FollowGraph}. Ranges for prefixes of up to three letters can
+ * hold a large part of the table, so their most-followed users are precomputed and refreshed in the
+ * background, and at most {@value #MAX_SCAN} users of a range are looked at. The index is loaded once at
+ * startup and then kept current from user events; a keystroke never reaches the database.
+ */
+@Slf4j
+@Component
+public class UserTypeahead {
+
+    private static final char SEPARATOR = '\0';
+    private static final int LOAD_BATCH = 1000;
+    private static final int MAX_SCAN = 2000;
+    private static final int MAX_FOLLOWING_SCAN = 5000;
+    private static final int SHORT_PREFIX = 3;
+    private static final int POPULAR_PER_PREFIX = 50;
+
+    private final UserRepository userRepository;
+    private final FollowGraph followGraph;
+
+    private final Map<UUID, Profile> profiles = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, UUID> names = new ConcurrentSkipListMap<>();
+    private volatile Map<String, UUID[]> popularByPrefix = Map.of();
+    private volatile boolean loaded;
+
+    public UserTypeahead(UserRepository userRepository, FollowGraph followGraph) {
+        this.userRepository = userRepository;
+        this.followGraph = followGraph;
+    }
+
+    public record Profile(UUID id, String username, String firstName, String lastName,
+                          String profileImageUrl, boolean isPrivate, List<String> keys) {
+
+        static Profile of(User user) {
+            List<String> keys = new ArrayList<>(3);
+            for (String name : new String[]{user.getUsername(), user.getFirstName(), user.getLastName()}) {
+                if (name == null || name.isBlank()) continue;
+                String key = normalize(name);
+                if (!keys.contains(key)) keys.add(key);
+            }
+            return new Profile(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                    user.getProfileImageUrl(), user.isPrivate(), List.copyOf(keys));
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Users whose username, first or last name starts with {@code prefix} and whom the viewer may see.
+     * Followed users come first; within each group users with more followers rank higher.
+     */
+    public List<Profile> complete(String prefix, UUID viewerId, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+
+        Comparator<Profile> byFollowers = Comparator
+                .comparingInt((Profile p) -> followGraph.followerCount(p.id())).reversed()
+                .thenComparing(Profile::username);
+
+        List<Profile> followed = new ArrayList<>();
+        List<UUID> following = followGraph.followingIds(viewerId);
+        for (int i = 0; i < following.size() && i < MAX_FOLLOWING_SCAN; i++) {
+            Profile profile = profiles.get(following.get(i));
+            if (profile != null && matches(profile, normalized)) followed.add(profile);
+        }
+        followed.sort(byFollowers);
+
+        LinkedHashMap<UUID, Profile> result = new LinkedHashMap<>();
+        for (Profile profile : followed) {
+            if (result.size() == limit) return List.copyOf(result.values());
+            result.put(profile.id(), profile);
+        }
+
+        List<Profile> others = new ArrayList<>();
+        for (UUID id : candidates(normalized)) {
+            Profile profile = profiles.get(id);
+            if (profile == null || result.containsKey(id) || !matches(profile, normalized)) continue;
+            if (profile.isPrivate() && !id.equals(viewerId)) continue;
+            others.add(profile);
+        }
+        others.sort(byFollowers);
+        for (Profile profile : others) {
+            if (result.size() == limit) break;
+            result.putIfAbsent(profile.id(), profile);
+        }
+        return List.copyOf(result.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        UUID after = new UUID(0L, 0L);
+        List<User> batch;
+        do {
+            batch = userRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, LOAD_BATCH));
+            for (User user : batch) {
+                put(Profile.of(user));
+                after = user.getId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+
+        refreshPopular();
+        loaded = true;
+        log.info("User typeahead loaded: {} users in {} ms.", profiles.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        reload(event.userId());
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onUserPrivacyChanged(UserPrivacyChangedEvent event) {
+        reload(event.userId());
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        remove(event.userId());
+    }
+
+    @Scheduled(fixedDelayString = "${finch.typeahead.popular-refresh-ms:300000}",
+            initialDelayString = "${finch.typeahead.popular-refresh-ms:300000}")
+    public void refreshPopular() {
+        Map<String, PriorityQueue<Profile>> tops = new HashMap<>();
+        Comparator<Profile> byFollowers = Comparator.comparingInt(p -> followGraph.followerCount(p.id()));
+        for (Profile profile : profiles.values()) {
+            if (profile.isPrivate()) continue;
+            Set<String> prefixes = new HashSet<>();
+            for (String key : profile.keys()) {
+                for (int length = 1; length <= SHORT_PREFIX && length <= key.length(); length++) {
+                    prefixes.add(key.substring(0, length));
+                }
+            }
+            for (String prefix : prefixes) {
+                PriorityQueue<Profile> top = tops.computeIfAbsent(prefix, p -> new PriorityQueue<>(byFollowers));
+                top.offer(profile);
+                if (top.size() > POPULAR_PER_PREFIX) top.poll();
+            }
+        }
+
+        Map<String, UUID[]> popular = new HashMap<>(tops.size() * 2);
+        tops.forEach((prefix, top) -> popular.put(prefix, top.stream().map(Profile::id).toArray(UUID[]::new)));
+        popularByPrefix = popular;
+    }
+
+    private Collection<UUID> candidates(String prefix) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        if (prefix.length() <= SHORT_PREFIX) {
+            UUID[] popular = popularByPrefix.get(prefix);
+            if (popular != null) ids.addAll(Arrays.asList(popular));
+        }
+        for (UUID id : names.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            if (ids.size() >= MAX_SCAN) break;
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void reload(UUID userId) {
+        userRepository.findById(userId).ifPresentOrElse(user -> put(Profile.of(user)), () -> remove(userId));
+    }
+
+    private synchronized void put(Profile profile) {
+        Profile previous = profiles.put(profile.id(), profile);
+        if (previous != null) {
+            previous.keys().forEach(key -> names.remove(key + SEPARATOR + profile.id()));
+        }
+        profile.keys().forEach(key -> names.put(key + SEPARATOR + profile.id(), profile.id()));
+    }
+
+    private synchronized void remove(UUID userId) {
+        Profile previous = profiles.remove(userId);
+        if (previous == null) return;
+        previous.keys().forEach(key -> names.remove(key + SEPARATOR + userId));
+    }
+
+    private static boolean matches(Profile profile, String prefix) {
+        for (String key : profile.keys()) {
+            if (key.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+}
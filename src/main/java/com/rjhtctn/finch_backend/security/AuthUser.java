@@ -0,0 +1,62 @@
+package com.rjhtctn.finch_backend.security;
+
+import com.rjhtctn.finch_backend.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The authenticated caller, built from the JWT claims so a request knows who is calling without loading
+ * the user. {@code isPrivate} is the account setting when the token was issued; code that needs the
+ * current value loads the user through {@code UserService.getCurrentUser}.
+ */
+@Getter
+public class AuthUser implements UserDetails {
+
+    private final UUID id;
+    private final String username;
+    private final boolean isPrivate;
+
+    public AuthUser(UUID id, String username, boolean isPrivate) {
+        this.id = id;
+        this.username = username;
+        this.isPrivate = isPrivate;
+    }
+
+    public static AuthUser of(User user) {
+        return new AuthUser(user.getId(), user.getUsername(), user.isPrivate());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
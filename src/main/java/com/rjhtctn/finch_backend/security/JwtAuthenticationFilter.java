@@ -1,8 +1,8 @@
 package com.rjhtctn.finch_backend.security;
 
 import com.rjhtctn.finch_backend.service.ValidTokenService;
+import io.jsonwebtoken.Claims;
 import org.springframework.core.annotation.Order;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,21 +10,21 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.Date;
 
 @Component
 @Order(1)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
     private final ValidTokenService validTokenService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, ValidTokenService validTokenService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService, ValidTokenService validTokenService) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.validTokenService = validTokenService;
@@ -38,7 +38,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -47,23 +46,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
-        username = jwtService.extractUsername(jwt);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            boolean isTokenValid = jwtService.isTokenValid(jwt, userDetails);
+            Claims claims = jwtService.parseClaims(jwt);
+            AuthUser principal = jwtService.extractPrincipal(claims);
+            if (principal == null && claims.getSubject() != null) {
+                principal = userDetailsService.loadPrincipal(claims.getSubject());
+            }
 
-            String jwtId = jwtService.extractId(jwt);
-            boolean isTokenActive = validTokenService.isTokenValidInDatabase(jwtId);
+            boolean isTokenValid = principal != null
+                    && principal.getUsername().equals(claims.getSubject())
+                    && claims.getExpiration().after(new Date());
+            boolean isTokenActive = isTokenValid && validTokenService.isTokenValidInDatabase(claims.getId());
 
-            if (isTokenActive && isTokenValid) {
+            if (isTokenActive) {
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
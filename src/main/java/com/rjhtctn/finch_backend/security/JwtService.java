@@ -20,6 +20,9 @@
     @Service
     public class JwtService {
 
+        private static final String USER_ID_CLAIM = "uid";
+        private static final String PRIVATE_CLAIM = "private";
+
         @Value("${JWT_SECRET_KEY}")
         private String SECRET_KEY;
 
@@ -39,13 +42,29 @@
             return extractClaim(token, Claims::getExpiration);
         }
 
+        /** Verifies the signature and returns the claims; expired tokens are rejected with an exception. */
+        public Claims parseClaims(String token) {
+            return extractAllClaims(token);
+        }
+
+        /** The principal carried by the claims, or {@code null} for a token issued without the user id. */
+        public AuthUser extractPrincipal(Claims claims) {
+            String userId = claims.get(USER_ID_CLAIM, String.class);
+            if (userId == null) return null;
+            return new AuthUser(UUID.fromString(userId), claims.getSubject(),
+                    Boolean.TRUE.equals(claims.get(PRIVATE_CLAIM, Boolean.class)));
+        }
+
         public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
             final Claims claims = extractAllClaims(token);
             return claimsResolver.apply(claims);
         }
 
         public String generateToken(User user) {
-            return generateToken(new HashMap<>(), user);
+            Map<String, Object> claims = new HashMap<>();
+            claims.put(USER_ID_CLAIM, user.getId().toString());
+            claims.put(PRIVATE_CLAIM, user.isPrivate());
+            return generateToken(claims, user);
         }
 
         public String generateToken(Map<String, Object> extraClaims, User user) {
@@ -1,5 +1,6 @@
 package com.rjhtctn.finch_backend.security;
 
+import com.rjhtctn.finch_backend.cache.UserSnapshot;
 import com.rjhtctn.finch_backend.model.User;
 import com.rjhtctn.finch_backend.service.UserService;
 import org.springframework.context.annotation.Lazy;
@@ -32,4 +33,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 new ArrayList<>()
         );
     }
+
+    /** Principal for a token that predates the user id claim. */
+    public AuthUser loadPrincipal(String username) {
+        UserSnapshot user = userService.findSnapshot(username);
+        return new AuthUser(user.id(), user.username(), user.isPrivate());
+    }
 }
\ No newline at end of file
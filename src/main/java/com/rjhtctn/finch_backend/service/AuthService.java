@@ -2,6 +2,7 @@ package com.rjhtctn.finch_backend.service;
 
 import com.rjhtctn.finch_backend.dto.auth.*;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.event.UserUpdatedEvent;
 import com.rjhtctn.finch_backend.exception.ConflictException;
 import com.rjhtctn.finch_backend.mapper.UserMapper;
 import com.rjhtctn.finch_backend.model.User;
@@ -10,6 +11,7 @@ import com.rjhtctn.finch_backend.security.JwtService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.MailException;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.AuthenticationException;
@@ -32,6 +34,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final ValidTokenService validTokenService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
@@ -39,7 +42,8 @@ public class AuthService {
                        JwtService jwtService,
                        AuthenticationManager authenticationManager,
                        ValidTokenService validTokenService,
-                       UserService userService) {
+                       UserService userService,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.mailService = mailService;
@@ -47,6 +51,7 @@ public class AuthService {
         this.authenticationManager = authenticationManager;
         this.validTokenService = validTokenService;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -63,6 +68,7 @@ public class AuthService {
         newUser.setPassword(passwordEncoder.encode(request.getPassword()));
 
         userRepository.saveAndFlush(newUser);
+        eventPublisher.publishEvent(new UserUpdatedEvent(newUser.getId()));
 
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override public void afterCommit() {
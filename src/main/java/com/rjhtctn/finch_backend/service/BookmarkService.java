@@ -3,6 +3,8 @@ package com.rjhtctn.finch_backend.service;
 import com.rjhtctn.finch_backend.model.*;
 import com.rjhtctn.finch_backend.repository.*;
 import com.rjhtctn.finch_backend.exception.ResourceNotFoundException;
+import com.rjhtctn.finch_backend.interaction.ViewerInteractionCache;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,30 +17,39 @@ public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final FinchRepository finchRepository;
     private final UserService userService;
+    private final EngagementCounterService engagementCounterService;
+    private final ViewerInteractionCache viewerInteractionCache;
 
     @Transactional
-    public void toggleBookmark(UUID finchId, String username) {
-        User user = userService.findUserByUsernameOrEmail(username);
+    public void toggleBookmark(UUID finchId, AuthUser principal) {
+        User user = userService.getCurrentUser(principal);
         Finch finch = finchRepository.findById(finchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Finch not found"));
 
         bookmarkRepository.findByUserAndFinch(user, finch)
                 .ifPresentOrElse(
-                        bookmarkRepository::delete,
-                        () -> bookmarkRepository.save(new Bookmark(user, finch))
+                        bookmark -> {
+                            bookmarkRepository.delete(bookmark);
+                            engagementCounterService.adjustBookmarks(finchId, -1);
+                            viewerInteractionCache.recordBookmark(user.getId(), finchId, false);
+                        },
+                        () -> {
+                            bookmarkRepository.save(new Bookmark(user, finch));
+                            engagementCounterService.adjustBookmarks(finchId, 1);
+                            viewerInteractionCache.recordBookmark(user.getId(), finchId, true);
+                        }
                 );
     }
 
-    public List<Bookmark> getUserBookmarks(String username) {
-        User user = userService.findUserByUsernameOrEmail(username);
-        return bookmarkRepository.findAllByUser(user);
+    public List<Bookmark> getUserBookmarks(AuthUser principal) {
+        return bookmarkRepository.findAllByUser(userService.getCurrentUserReference(principal));
     }
 
     public long getBookmarkCount(Finch finch) {
-        return bookmarkRepository.countByFinch(finch);
+        return finch.getBookmarkCount();
     }
 
     public boolean isBookmarkedByUser(User user, Finch finch) {
-        return bookmarkRepository.findByUserAndFinch(user, finch).isPresent();
+        return viewerInteractionCache.forViewer(user.getId()).bookmarked(finch.getId());
     }
 }
\ No newline at end of file
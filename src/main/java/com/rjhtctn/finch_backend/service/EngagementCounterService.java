@@ -0,0 +1,136 @@
+package com.rjhtctn.finch_backend.service;
+
+import com.rjhtctn.finch_backend.counter.EngagementCounterBuffer;
+import com.rjhtctn.finch_backend.counter.HotFinchDetector;
+import com.rjhtctn.finch_backend.ranking.ForYouRanker;
+import com.rjhtctn.finch_backend.repository.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class EngagementCounterService {
+
+    private final FinchRepository finchRepository;
+    private final LikeRepository likeRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final RefinchRepository refinchRepository;
+    private final HotFinchDetector hotFinchDetector;
+    private final EngagementCounterBuffer counterBuffer;
+    private final ForYouRanker forYouRanker;
+
+    public EngagementCounterService(FinchRepository finchRepository,
+                                    LikeRepository likeRepository,
+                                    BookmarkRepository bookmarkRepository,
+                                    RefinchRepository refinchRepository,
+                                    HotFinchDetector hotFinchDetector,
+                                    EngagementCounterBuffer counterBuffer,
+                                    ForYouRanker forYouRanker) {
+        this.finchRepository = finchRepository;
+        this.likeRepository = likeRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.refinchRepository = refinchRepository;
+        this.hotFinchDetector = hotFinchDetector;
+        this.counterBuffer = counterBuffer;
+        this.forYouRanker = forYouRanker;
+    }
+
+    @Transactional
+    public void adjustLikes(UUID finchId, long delta) {
+        afterCommit(() -> forYouRanker.markChanged(finchId));
+        if (hotFinchDetector.recordWrite(finchId)) {
+            afterCommit(() -> {
+                if (!counterBuffer.addLikes(finchId, delta)) counterBuffer.applyNow(finchId, delta, 0);
+            });
+            return;
+        }
+        finchRepository.adjustLikeCount(finchId, delta);
+    }
+
+    @Transactional
+    public void adjustReplies(UUID finchId, long delta) {
+        afterCommit(() -> forYouRanker.markChanged(finchId));
+        finchRepository.adjustReplyCount(finchId, delta);
+    }
+
+    @Transactional
+    public void adjustReposts(UUID finchId, long delta) {
+        afterCommit(() -> forYouRanker.markChanged(finchId));
+        if (hotFinchDetector.recordWrite(finchId)) {
+            afterCommit(() -> {
+                if (!counterBuffer.addReposts(finchId, delta)) counterBuffer.applyNow(finchId, 0, delta);
+            });
+            return;
+        }
+        finchRepository.adjustRepostCount(finchId, delta);
+    }
+
+    @Transactional
+    public void adjustBookmarks(UUID finchId, long delta) {
+        afterCommit(() -> forYouRanker.markChanged(finchId));
+        finchRepository.adjustBookmarkCount(finchId, delta);
+    }
+
+    /**
+     * Recomputes the counters of the given finches from their source tables and rewrites the ones that drifted.
+     * Returns the number of finches that were corrected.
+     */
+    @Transactional
+    public int reconcile(Collection<UUID> finchIds) {
+        if (finchIds.isEmpty()) return 0;
+
+        Map<UUID, Long> likes = toMap(likeRepository.countByFinchIds(finchIds));
+        Map<UUID, Long> replies = toMap(finchRepository.countRepliesByParentIds(finchIds));
+        Map<UUID, Long> reposts = toMap(refinchRepository.countByFinchIds(finchIds));
+        Map<UUID, Long> bookmarks = toMap(bookmarkRepository.countByFinchIds(finchIds));
+
+        int corrected = 0;
+        for (FinchCounters seen : finchRepository.findCountersByIdIn(finchIds)) {
+            UUID id = seen.getFinchId();
+            if (counterBuffer.isBuffered(id)) continue;
+            long likeCount = likes.getOrDefault(id, 0L);
+            long replyCount = replies.getOrDefault(id, 0L);
+            long repostCount = reposts.getOrDefault(id, 0L);
+            long bookmarkCount = bookmarks.getOrDefault(id, 0L);
+
+            boolean drifted = seen.getLikeCount() != likeCount
+                    || seen.getReplyCount() != replyCount
+                    || seen.getRepostCount() != repostCount
+                    || seen.getBookmarkCount() != bookmarkCount;
+            if (!drifted) continue;
+
+            corrected += finchRepository.replaceCounters(id,
+                    likeCount, replyCount, repostCount, bookmarkCount,
+                    seen.getLikeCount(), seen.getReplyCount(), seen.getRepostCount(), seen.getBookmarkCount());
+        }
+        return corrected;
+    }
+
+    /**
+     * Buffered deltas are only handed over once the like or repost row is committed, so a rolled back write
+     * never reaches the counter. The ranking pool is told about a change at the same point, so its rescoring
+     * never reads a counter that is still uncommitted.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Map<UUID, Long> toMap(List<FinchCount> counts) {
+        return counts.stream().collect(Collectors.toMap(FinchCount::getFinchId, FinchCount::getCount));
+    }
+}
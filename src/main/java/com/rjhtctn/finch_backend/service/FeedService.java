@@ -1,117 +1,398 @@
 package com.rjhtctn.finch_backend.service;
 
+import com.rjhtctn.finch_backend.dto.feed.FeedCursor;
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
+import com.rjhtctn.finch_backend.dto.feed.RankedCursor;
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
-import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
 import com.rjhtctn.finch_backend.mapper.FinchMapper;
 import com.rjhtctn.finch_backend.model.*;
+import com.rjhtctn.finch_backend.ranking.AuthorAffinityCache;
+import com.rjhtctn.finch_backend.ranking.ForYouRanker;
 import com.rjhtctn.finch_backend.repository.FinchRepository;
 import com.rjhtctn.finch_backend.repository.RefinchRepository;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.interaction.ViewerInteractionCache;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import com.rjhtctn.finch_backend.timeline.FeedVersions;
+import com.rjhtctn.finch_backend.timeline.GlobalFeedSnapshot;
+import com.rjhtctn.finch_backend.timeline.HomeTimeline;
+import com.rjhtctn.finch_backend.timeline.HomeTimelineStore;
+import com.rjhtctn.finch_backend.timeline.TimelineEntry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class FeedService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RANKED_DEPTH = 500;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
     private final FinchRepository finchRepository;
     private final RefinchRepository refinchRepository;
+    private final UserRepository userRepository;
+    private final HomeTimelineStore homeTimelineStore;
+    private final GlobalFeedSnapshot globalFeedSnapshot;
+    private final FeedVersions feedVersions;
+    private final ViewerInteractionCache viewerInteractionCache;
     private final UserService userService;
-    private final LikeService likeService;
     private final FollowService followService;
-    private final BookmarkService bookmarkService;
-    private final RefinchService refinchService;
+    private final FinchEnrichmentService finchEnrichmentService;
+    private final ForYouRanker forYouRanker;
+    private final AuthorAffinityCache authorAffinityCache;
 
     public FeedService(
             FinchRepository finchRepository,
             RefinchRepository refinchRepository,
+            UserRepository userRepository,
+            HomeTimelineStore homeTimelineStore,
+            GlobalFeedSnapshot globalFeedSnapshot,
+            FeedVersions feedVersions,
+            ViewerInteractionCache viewerInteractionCache,
             UserService userService,
-            LikeService likeService,
             FollowService followService,
-            BookmarkService bookmarkService,
-            RefinchService refinchService) {
+            FinchEnrichmentService finchEnrichmentService,
+            ForYouRanker forYouRanker,
+            AuthorAffinityCache authorAffinityCache) {
         this.finchRepository = finchRepository;
         this.refinchRepository = refinchRepository;
+        this.userRepository = userRepository;
+        this.homeTimelineStore = homeTimelineStore;
+        this.globalFeedSnapshot = globalFeedSnapshot;
+        this.feedVersions = feedVersions;
+        this.viewerInteractionCache = viewerInteractionCache;
         this.userService = userService;
-        this.likeService = likeService;
         this.followService = followService;
-        this.bookmarkService = bookmarkService;
-        this.refinchService = refinchService;
+        this.finchEnrichmentService = finchEnrichmentService;
+        this.forYouRanker = forYouRanker;
+        this.authorAffinityCache = authorAffinityCache;
     }
 
+    /**
+     * Weak validator for the first page of the global feed, built from version stamps only. Engagement
+     * counters are not part of it; see {@link FeedVersions}.
+     */
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getGlobalFeed(UserDetails userDetails) {
-        User currentUser = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public String getGlobalFeedETag(AuthUser principal, String since, int size) {
+        return feedVersions.etag(
+                variant(since, size),
+                globalFeedSnapshot.version(),
+                feedVersions.global(),
+                feedVersions.profiles(),
+                viewerInteractionCache.forViewer(principal.getId()).version());
+    }
 
-        Set<UUID> followingIds = followService.getFollowing(currentUser).stream()
-                .map(UserResponseDto::getId)
-                .collect(Collectors.toSet());
+    @Transactional(readOnly = true)
+    public String getFollowingFeedETag(AuthUser principal, String since, int size) {
+        HomeTimeline timeline = homeTimelineStore.timelineFor(principal.getId());
+        if (!timeline.isLoaded()) {
+            loadTimeline(principal.getId(), timeline);
+        }
+        return feedVersions.etag(
+                variant(since, size),
+                timeline.generation(),
+                timeline.version(),
+                feedVersions.edits(),
+                feedVersions.profiles(),
+                viewerInteractionCache.forViewer(principal.getId()).version());
+    }
 
-        Predicate<User> canSeeContent = author ->
-                !author.isPrivate() ||
-                        author.getId().equals(currentUser.getId()) ||
-                        followingIds.contains(author.getId());
+    private static String variant(String since, int size) {
+        return since == null ? Integer.toString(size) : size + "|" + since;
+    }
 
-        List<Finch> finches = finchRepository.findAllByParentFinchIsNullOrderByCreatedAtDesc()
-                .stream()
-                .filter(finch -> canSeeContent.test(finch.getUser()))
-                .toList();
+    @Transactional(readOnly = true)
+    public FeedPageResponseDto getGlobalFeed(AuthUser principal, String cursor, String since, int size) {
+        User currentUser = userService.getCurrentUserReference(principal);
+        FeedCursor after = FeedCursor.decode(cursor);
+        FeedCursor newerThan = since == null ? null : FeedCursor.decode(since);
+        int limit = clampPageSize(size);
+        Pageable window = PageRequest.of(0, limit + 1);
 
-        List<ReFinch> refinches = refinchRepository.findAll().stream()
-                .filter(refinch -> canSeeContent.test(refinch.getUser()))
-                .toList();
+        List<TimelineEntry> shared = globalFeedSnapshot.read(after, limit + 1);
+        if (shared != null) {
+            List<Finch> privateFinches = finchRepository.findPrivateFeedPage(
+                    currentUser.getId(), toLocalDateTime(after), after.finchTieBreaker(), window);
+            List<ReFinch> privateReposts = refinchRepository.findPrivateFeedPage(
+                    currentUser.getId(), after.createdAt(), after.repostTieBreaker(), window);
+            return snapshotPage(shared, privateFinches, privateReposts, limit, newerThan, currentUser);
+        }
+
+        List<Finch> finches = finchRepository.findGlobalFeedPage(
+                currentUser.getId(),
+                toLocalDateTime(after),
+                after.finchTieBreaker(),
+                window);
+
+        List<ReFinch> refinches = refinchRepository.findGlobalFeedPage(
+                currentUser.getId(),
+                after.createdAt(),
+                after.repostTieBreaker(),
+                window);
 
-        return buildFeedFromSources(finches, refinches, currentUser);
+        return sourcesPage(finches, refinches, limit, newerThan, currentUser);
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getFollowingFeed(UserDetails userDetails) {
-        User currentUser = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public FeedPageResponseDto getFollowingFeed(AuthUser principal, String cursor, String since, int size) {
+        User currentUser = userService.getCurrentUserReference(principal);
+        UUID viewerId = currentUser.getId();
+        FeedCursor after = FeedCursor.decode(cursor);
+        FeedCursor newerThan = since == null ? null : FeedCursor.decode(since);
+        int limit = clampPageSize(size);
 
-        List<User> followingUsers = currentUser.getFollowing().stream()
-                .map(Follow::getFollowing)
-                .collect(Collectors.toList());
-        followingUsers.add(currentUser);
+        HomeTimeline timeline = homeTimelineStore.timelineFor(viewerId);
+        if (!timeline.isLoaded()) {
+            loadTimeline(viewerId, timeline);
+        }
+
+        List<TimelineEntry> entries = timeline.read(after, limit + 1);
+        if (entries != null) {
+            return timelinePage(newerThan(entries, newerThan), limit, currentUser);
+        }
+
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Finch> finches = finchRepository.findFollowingFeedPage(
+                viewerId, toLocalDateTime(after), after.finchTieBreaker(), window);
+        List<ReFinch> refinches = refinchRepository.findFollowingFeedPage(
+                viewerId, after.createdAt(), after.repostTieBreaker(), window);
 
-        List<Finch> finches = finchRepository.findByUserInAndParentFinchIsNull(
-                followingUsers,
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
+        return sourcesPage(finches, refinches, limit, newerThan, currentUser);
+    }
+
+    /**
+     * Ranked feed of recent public finches. Scores come precomputed from {@link ForYouRanker}; per request
+     * only the viewer's author boosts are added and the best {@code size} below the cursor are selected. The
+     * cursor is the score and id of the last item served, so a rescore between pages does not shift the
+     * page boundary; the feed stops after {@value #MAX_RANKED_DEPTH} items.
+     */
+    @Transactional(readOnly = true)
+    public FeedPageResponseDto getForYouFeed(AuthUser principal, String cursor, int size) {
+        User currentUser = userService.getCurrentUserReference(principal);
+        RankedCursor after = RankedCursor.decode(cursor);
+        if (after.served() >= MAX_RANKED_DEPTH) return new FeedPageResponseDto(List.of(), null);
+        int limit = Math.min(clampPageSize(size), MAX_RANKED_DEPTH - after.served());
+
+        List<ForYouRanker.Candidate> ranked = forYouRanker.top(
+                authorAffinityCache.boostsFor(currentUser.getId()), after.score(), after.id(), limit + 1);
+        if (ranked.isEmpty()) return new FeedPageResponseDto(List.of(), null);
 
-        List<ReFinch> refinches = refinchRepository.findAll().stream()
-                .filter(r -> followingUsers.contains(r.getUser()))
+        List<ForYouRanker.Candidate> candidates = ranked.subList(0, Math.min(limit, ranked.size()));
+        List<TimelineEntry> page = candidates.stream()
+                .map(c -> new TimelineEntry(c.finchId(), c.authorId(), null, c.createdAt()))
                 .toList();
+        String nextCursor = null;
+        int served = after.served() + candidates.size();
+        if (ranked.size() > limit && served < MAX_RANKED_DEPTH) {
+            ForYouRanker.Candidate last = candidates.get(candidates.size() - 1);
+            nextCursor = new RankedCursor(last.score(), last.finchId(), served).encode();
+        }
+        return new FeedPageResponseDto(toResponses(hydrate(page, currentUser), currentUser), nextCursor);
+    }
+
+    private void loadTimeline(UUID viewerId, HomeTimeline timeline) {
+        int capacity = timeline.capacity();
+        Pageable window = PageRequest.of(0, capacity);
+
+        List<Finch> finches = finchRepository.findFollowingFeedPage(
+                viewerId, toLocalDateTime(FeedCursor.START), FeedCursor.START.finchTieBreaker(), window);
+        List<ReFinch> refinches = refinchRepository.findFollowingFeedPage(
+                viewerId, FeedCursor.START.createdAt(), FeedCursor.START.repostTieBreaker(), window);
 
-        return buildFeedFromSources(finches, refinches, currentUser);
+        List<TimelineEntry> entries = new ArrayList<>(finches.size() + refinches.size());
+        finches.forEach(f -> entries.add(TimelineEntry.of(f)));
+        refinches.forEach(r -> entries.add(TimelineEntry.of(r)));
+
+        timeline.fill(entries, finches.size() < capacity && refinches.size() < capacity);
+    }
+
+    private FeedPageResponseDto timelinePage(List<TimelineEntry> entries, int limit, User currentUser) {
+        List<TimelineEntry> page = entries.subList(0, Math.min(limit, entries.size()));
+        String nextCursor = entries.size() > limit ? page.get(page.size() - 1).cursor().encode() : null;
+        return new FeedPageResponseDto(toResponses(hydrate(page, null), currentUser), nextCursor);
     }
 
-    private List<FinchResponseDto> buildFeedFromSources(List<Finch> finches, List<ReFinch> refinches, User currentUser) {
-        List<FeedItem> all = new ArrayList<>();
+    /**
+     * Merges the shared public snapshot with the viewer's private overlay. The snapshot may be a few seconds
+     * old, so an entry is dropped if its author went private since and the viewer may no longer see it, and
+     * an entry that is in both halves is kept once.
+     */
+    private FeedPageResponseDto snapshotPage(List<TimelineEntry> shared,
+                                             List<Finch> privateFinches,
+                                             List<ReFinch> privateReposts,
+                                             int limit,
+                                             FeedCursor since,
+                                             User currentUser) {
+        List<TimelineEntry> entries = new ArrayList<>(shared.size() + privateFinches.size() + privateReposts.size());
+        entries.addAll(shared);
+        privateFinches.forEach(f -> entries.add(TimelineEntry.of(f)));
+        privateReposts.forEach(r -> entries.add(TimelineEntry.of(r)));
+        entries.sort(Comparator.comparing(TimelineEntry::cursor, FeedCursor.NEWEST_FIRST));
+
+        List<TimelineEntry> page = new ArrayList<>(limit + 1);
+        for (TimelineEntry entry : newerThan(entries, since)) {
+            if (page.size() > limit) break;
+            if (!page.isEmpty() && page.get(page.size() - 1).equals(entry)) continue;
+            page.add(entry);
+        }
 
-        finches.forEach(f -> all.add(new FeedItem(f, f.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant())));
-        refinches.forEach(r -> all.add(new FeedItem(r.getFinch(), r.getCreatedAt())));
+        List<FeedItem> items = hydrate(page.subList(0, Math.min(limit, page.size())), currentUser);
+        String nextCursor = page.size() > limit ? page.get(limit - 1).cursor().encode() : null;
+        return new FeedPageResponseDto(toResponses(items, currentUser), nextCursor);
+    }
+
+    private FeedPageResponseDto sourcesPage(List<Finch> finches,
+                                            List<ReFinch> refinches,
+                                            int limit,
+                                            FeedCursor since,
+                                            User currentUser) {
+        SourceMerge merge = new SourceMerge(finches, refinches);
+        List<FinchResponseDto> dtos = new ArrayList<>(limit);
+        FeedItem last = null;
+        boolean more = false;
+        while (merge.hasNext()) {
+            FeedItem item = merge.next();
+            if (since != null && !isNewer(item.cursor(), since)) break;
+            if (dtos.size() == limit) {
+                more = true;
+                break;
+            }
+            last = item;
+            dtos.add(item.toResponse());
+        }
+        String nextCursor = more ? last.cursor().encode() : null;
+        return new FeedPageResponseDto(finchEnrichmentService.enrich(dtos, currentUser), nextCursor);
+    }
 
-        all.sort(Comparator.comparing(FeedItem::createdAt).reversed());
+    /**
+     * Loads the finches and reposters of the entries. When a viewer is given, entries whose author or
+     * reposter the viewer may not see are dropped.
+     */
+    private List<FeedItem> hydrate(List<TimelineEntry> entries, User viewer) {
+        if (entries.isEmpty()) return List.of();
 
-        return all.stream()
-                .map(item -> enrich(FinchMapper.toFinchResponseWithoutReplies(item.finch()), item.finch(), currentUser))
+        Set<UUID> finchIds = entries.stream().map(TimelineEntry::finchId).collect(Collectors.toSet());
+        Map<UUID, Finch> finches = finchRepository.findAllWithUserByIdIn(finchIds).stream()
+                .collect(Collectors.toMap(Finch::getId, Function.identity()));
+
+        Set<UUID> reposterIds = entries.stream()
+                .filter(TimelineEntry::isRepost)
+                .map(TimelineEntry::actorId)
+                .collect(Collectors.toSet());
+        Map<UUID, User> reposters = reposterIds.isEmpty() ? Map.of() :
+                userRepository.findAllById(reposterIds).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<FeedItem> items = new ArrayList<>(entries.size());
+        for (TimelineEntry entry : entries) {
+            Finch finch = finches.get(entry.finchId());
+            if (finch == null) continue;
+            User reposter = entry.isRepost() ? reposters.get(entry.actorId()) : null;
+            if (entry.isRepost() && reposter == null) continue;
+            if (viewer != null && (!canSee(viewer, finch.getUser()) || (reposter != null && !canSee(viewer, reposter)))) {
+                continue;
+            }
+            items.add(new FeedItem(finch, reposter != null ? reposter.getUsername() : null, entry.cursor()));
+        }
+        return items;
+    }
+
+    private boolean canSee(User viewer, User author) {
+        return !author.isPrivate() || author.getId().equals(viewer.getId()) || followService.isFollowing(viewer, author);
+    }
+
+    private List<FinchResponseDto> toResponses(List<FeedItem> items, User currentUser) {
+        List<FinchResponseDto> dtos = items.stream()
+                .map(FeedItem::toResponse)
                 .collect(Collectors.toList());
+        return finchEnrichmentService.enrich(dtos, currentUser);
     }
 
-    private FinchResponseDto enrich(FinchResponseDto dto, Finch finch, User currentUser) {
-        dto.setLikeCount(likeService.getLikeCountForFinch(finch));
-        dto.setReplyCount(finch.getReplies() != null ? finch.getReplies().size() : 0);
-        dto.setCurrentUserLiked(likeService.isLikedByUser(finch, currentUser));
-        dto.setCurrentUserReposted(refinchService.isRepostedByUser(currentUser, finch));
-        dto.setCurrentUserBookmarked(bookmarkService.isBookmarkedByUser(currentUser, finch));
-        dto.setBookmarkCount(bookmarkService.getBookmarkCount(finch));
-        dto.setRepostCount(refinchService.getRepostCount(finch.getId()));
-        return dto;
+    /** Cuts a newest-first list at the first entry that is not newer than {@code since}. */
+    private static List<TimelineEntry> newerThan(List<TimelineEntry> entries, FeedCursor since) {
+        if (since == null) return entries;
+        for (int i = 0; i < entries.size(); i++) {
+            if (!isNewer(entries.get(i).cursor(), since)) return entries.subList(0, i);
+        }
+        return entries;
     }
 
-    private record FeedItem(Finch finch, Instant createdAt) {}
+    private static boolean isNewer(FeedCursor cursor, FeedCursor since) {
+        return FeedCursor.NEWEST_FIRST.compare(cursor, since) < 0;
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static LocalDateTime toLocalDateTime(FeedCursor cursor) {
+        return LocalDateTime.ofInstant(cursor.createdAt(), ZONE);
+    }
+
+    private static Instant toInstant(LocalDateTime createdAt) {
+        return createdAt.atZone(ZONE).toInstant();
+    }
+
+    /**
+     * Merges the two newest-first source windows on demand. A finch timestamp is converted to an instant
+     * only once it reaches the head of its list, so work stops with the last item the page takes.
+     */
+    private static final class SourceMerge implements Iterator<FeedItem> {
+
+        private final List<Finch> finches;
+        private final List<ReFinch> refinches;
+        private int finchIndex;
+        private int repostIndex;
+        private Instant finchHead;
+
+        SourceMerge(List<Finch> finches, List<ReFinch> refinches) {
+            this.finches = finches;
+            this.refinches = refinches;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return finchIndex < finches.size() || repostIndex < refinches.size();
+        }
+
+        @Override
+        public FeedItem next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (finchIndex == finches.size()) return FeedItem.of(refinches.get(repostIndex++));
+
+            Finch finch = finches.get(finchIndex);
+            if (finchHead == null) finchHead = toInstant(finch.getCreatedAt());
+
+            if (repostIndex < refinches.size() && refinches.get(repostIndex).getCreatedAt().isAfter(finchHead)) {
+                return FeedItem.of(refinches.get(repostIndex++));
+            }
+
+            FeedItem item = new FeedItem(finch, null, FeedCursor.ofFinch(finchHead, finch.getId()));
+            finchIndex++;
+            finchHead = null;
+            return item;
+        }
+    }
+
+    private record FeedItem(Finch finch, String repostedBy, FeedCursor cursor) {
+
+        static FeedItem of(ReFinch repost) {
+            return new FeedItem(repost.getFinch(), repost.getUser().getUsername(),
+                    FeedCursor.ofRepost(repost.getCreatedAt(), repost.getId()));
+        }
+
+        FinchResponseDto toResponse() {
+            FinchResponseDto dto = FinchMapper.toFinchResponseWithoutReplies(finch);
+            dto.setRepostedBy(repostedBy);
+            return dto;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.rjhtctn.finch_backend.service;
+
+import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
+import com.rjhtctn.finch_backend.mapper.FinchMapper;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.interaction.ViewerInteractionCache;
+import com.rjhtctn.finch_backend.interaction.ViewerInteractions;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fills the viewer flags for a whole page of finches from the viewer's in-memory interaction sets.
+ * Engagement counters are read from the denormalized columns on {@code Finch} by the mapper.
+ *
+ * <p>Quoted finches of the page are loaded together in one query, with their authors and images, and
+ * attached only when the viewer may see their author; otherwise {@code quotedId} is left without a body.
+ */
+@Service
+public class FinchEnrichmentService {
+
+    private final ViewerInteractionCache viewerInteractionCache;
+    private final FinchRepository finchRepository;
+    private final FollowService followService;
+
+    public FinchEnrichmentService(ViewerInteractionCache viewerInteractionCache,
+                                  FinchRepository finchRepository,
+                                  @Lazy FollowService followService) {
+        this.viewerInteractionCache = viewerInteractionCache;
+        this.finchRepository = finchRepository;
+        this.followService = followService;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, InteractionState> loadStates(Collection<UUID> finchIds, User viewer) {
+        if (finchIds.isEmpty()) return Map.of();
+        Set<UUID> ids = new HashSet<>(finchIds);
+
+        ViewerInteractions interactions = viewer != null ? viewerInteractionCache.forViewer(viewer.getId()) : null;
+
+        Map<UUID, InteractionState> states = new HashMap<>(ids.size() * 2);
+        for (UUID id : ids) {
+            states.put(id, interactions == null
+                    ? InteractionState.NONE
+                    : new InteractionState(interactions.liked(id), interactions.reposted(id), interactions.bookmarked(id)));
+        }
+        return states;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FinchResponseDto> enrich(List<FinchResponseDto> dtos, User viewer) {
+        List<FinchResponseDto> quotes = hydrateQuotes(dtos, viewer);
+        Map<UUID, InteractionState> states = loadStates(
+                Stream.concat(dtos.stream(), quotes.stream()).map(FinchResponseDto::getId).collect(Collectors.toSet()),
+                viewer);
+        Stream.concat(dtos.stream(), quotes.stream()).forEach(dto -> {
+            InteractionState state = states.get(dto.getId());
+            if (state != null) state.applyTo(dto);
+        });
+        return dtos;
+    }
+
+    @Transactional(readOnly = true)
+    public FinchResponseDto enrich(FinchResponseDto dto, User viewer) {
+        enrich(List.of(dto), viewer);
+        return dto;
+    }
+
+    /** Attaches the visible quoted finches of the page and returns the attached quote bodies. */
+    private List<FinchResponseDto> hydrateQuotes(List<FinchResponseDto> dtos, User viewer) {
+        Set<UUID> quotedIds = dtos.stream()
+                .filter(dto -> dto.getQuotedId() != null && dto.getQuotedFinch() == null)
+                .map(FinchResponseDto::getQuotedId)
+                .collect(Collectors.toSet());
+        if (quotedIds.isEmpty()) return List.of();
+
+        Map<UUID, FinchResponseDto> visible = new HashMap<>();
+        for (Finch quoted : finchRepository.findAllWithUserAndImagesByIdIn(quotedIds)) {
+            if (canSee(viewer, quoted.getUser())) {
+                visible.put(quoted.getId(), FinchMapper.toFinchResponseWithoutReplies(quoted));
+            }
+        }
+
+        for (FinchResponseDto dto : dtos) {
+            if (dto.getQuotedId() != null && dto.getQuotedFinch() == null) {
+                dto.setQuotedFinch(visible.get(dto.getQuotedId()));
+            }
+        }
+        return new ArrayList<>(visible.values());
+    }
+
+    private boolean canSee(User viewer, User author) {
+        if (!author.isPrivate()) return true;
+        return viewer != null && (author.getId().equals(viewer.getId()) || followService.isFollowing(viewer, author));
+    }
+
+    public record InteractionState(boolean liked, boolean reposted, boolean bookmarked) {
+
+        public static final InteractionState NONE = new InteractionState(false, false, false);
+
+        public void applyTo(FinchResponseDto dto) {
+            dto.setCurrentUserLiked(liked);
+            dto.setCurrentUserReposted(reposted);
+            dto.setCurrentUserBookmarked(bookmarked);
+        }
+    }
+}
@@ -1,21 +1,31 @@
 package com.rjhtctn.finch_backend.service;
 
+import com.rjhtctn.finch_backend.cache.UserCache;
+import com.rjhtctn.finch_backend.cache.UserSnapshot;
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
 import com.rjhtctn.finch_backend.dto.finch.CreateFinchRequestDto;
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
+import com.rjhtctn.finch_backend.dto.finch.ReplyCursor;
 import com.rjhtctn.finch_backend.dto.finch.UpdateFinchRequestDto;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.event.FinchCreatedEvent;
+import com.rjhtctn.finch_backend.event.FinchDeletedEvent;
+import com.rjhtctn.finch_backend.event.FinchEngagedEvent;
+import com.rjhtctn.finch_backend.event.FinchUpdatedEvent;
 import com.rjhtctn.finch_backend.exception.ConflictException;
 import com.rjhtctn.finch_backend.exception.ResourceNotFoundException;
 import com.rjhtctn.finch_backend.mapper.FinchMapper;
-import com.rjhtctn.finch_backend.mapper.UserMapper;
 import com.rjhtctn.finch_backend.model.Finch;
 import com.rjhtctn.finch_backend.model.FinchImage;
 import com.rjhtctn.finch_backend.model.User;
 import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import com.rjhtctn.finch_backend.thread.ThreadLoader;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,6 +36,7 @@ import java.util.stream.Collectors;
 public class FinchService {
 
     private static final int MAX_IMAGE_COUNT = 4;
+    private static final int MAX_REPLY_PAGE_SIZE = 100;
 
     private final FinchRepository finchRepository;
     private final UserService userService;
@@ -34,6 +45,12 @@ public class FinchService {
     private final RefinchService refinchService;
     private final ImageKitService imageKitService;
     private final BookmarkService bookmarkService;
+    private final FinchEnrichmentService finchEnrichmentService;
+    private final EngagementCounterService engagementCounterService;
+    private final TagService tagService;
+    private final ThreadLoader threadLoader;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public FinchService(FinchRepository finchRepository,
                         UserService userService,
@@ -41,7 +58,13 @@ public class FinchService {
                         FollowService followService,
                         @Lazy RefinchService refinchService,
                         ImageKitService imageKitService,
-                        BookmarkService bookmarkService) {
+                        BookmarkService bookmarkService,
+                        FinchEnrichmentService finchEnrichmentService,
+                        EngagementCounterService engagementCounterService,
+                        TagService tagService,
+                        ThreadLoader threadLoader,
+                        UserCache userCache,
+                        ApplicationEventPublisher eventPublisher) {
         this.finchRepository = finchRepository;
         this.userService = userService;
         this.likeService = likeService;
@@ -49,18 +72,26 @@ public class FinchService {
         this.refinchService = refinchService;
         this.imageKitService = imageKitService;
         this.bookmarkService = bookmarkService;
+        this.finchEnrichmentService = finchEnrichmentService;
+        this.engagementCounterService = engagementCounterService;
+        this.tagService = tagService;
+        this.threadLoader = threadLoader;
+        this.userCache = userCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public FinchResponseDto createFinch(CreateFinchRequestDto dto, List<MultipartFile> images, UserDetails userDetails) {
-        User author = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public FinchResponseDto createFinch(CreateFinchRequestDto dto, List<MultipartFile> images, AuthUser principal) {
+        User author = userService.getCurrentUser(principal);
 
         Finch finch = new Finch();
         finch.setContent(dto.getContent());
         finch.setUser(author);
-        finch = finchRepository.save(finch);
+        finch = finchRepository.saveAndFlush(finch);
+        tagService.index(finch);
 
         processImages(images, finch, author);
+        eventPublisher.publishEvent(FinchCreatedEvent.of(finch));
 
         return enrichCounters(FinchMapper.toFinchResponseWithoutReplies(finch), finch, author);
     }
@@ -69,9 +100,9 @@ public class FinchService {
     public FinchResponseDto updateFinch(UUID finchId,
                                         UpdateFinchRequestDto dto,
                                         List<MultipartFile> newImages,
-                                        UserDetails userDetails) {
-        Finch finch = findOwnedFinch(finchId, userDetails);
-        User author = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+                                        AuthUser principal) {
+        Finch finch = findOwnedFinch(finchId, principal);
+        User author = userService.getCurrentUser(principal);
 
         Set<String> existingIds = finch.getImages() == null ? Set.of() :
                 finch.getImages().stream()
@@ -102,6 +133,7 @@ public class FinchService {
 
         if (dto != null && dto.getContent() != null) {
             finch.setContent(dto.getContent());
+            tagService.index(finch);
         }
 
         if (!deleteIds.isEmpty() && finch.getImages() != null) {
@@ -123,23 +155,29 @@ public class FinchService {
         }
 
         Finch updated = finchRepository.save(finch);
+        eventPublisher.publishEvent(new FinchUpdatedEvent(updated.getId(), author.getId()));
         return enrichCounters(FinchMapper.toFinchResponseWithoutReplies(updated), updated, author);
     }
 
     @Transactional
-    public void deleteFinch(UUID finchId, UserDetails userDetails) {
-        Finch finch = findOwnedFinch(finchId, userDetails);
+    public void deleteFinch(UUID finchId, AuthUser principal) {
+        Finch finch = findOwnedFinch(finchId, principal);
 
         if (finch.getImages() != null && !finch.getImages().isEmpty()) {
             imageKitService.deleteFolder("finch/" + finch.getUser().getUsername() + "/posts/" +  finch.getId());
         }
+        List<UUID> reposterIds = refinchService.getReposterIds(finch.getId());
         finchRepository.delete(finch);
+        if (finch.getParentFinch() != null) {
+            engagementCounterService.adjustReplies(finch.getParentFinch().getId(), -1);
+        }
+        eventPublisher.publishEvent(FinchDeletedEvent.of(finch, reposterIds));
     }
 
     @Transactional
-    protected Finch findOwnedFinch(UUID finchId, UserDetails userDetails) {
+    protected Finch findOwnedFinch(UUID finchId, AuthUser principal) {
         Finch finch = findFinchById(finchId);
-        if (!finch.getUser().getUsername().equals(userDetails.getUsername())) {
+        if (!finch.getUser().getId().equals(principal.getId())) {
             throw new AccessDeniedException("You are not authorized to modify this Finch.");
         }
         return finch;
@@ -152,63 +190,78 @@ public class FinchService {
     }
 
     @Transactional(readOnly = true)
-    public FinchResponseDto getFinchById(UUID finchId, UserDetails userDetails, int depth) {
+    public FinchResponseDto getFinchById(UUID finchId, AuthUser principal, int depth, int fanout) {
         Finch finch = findFinchById(finchId);
-        User currentUser = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+        User currentUser = userService.getCurrentUser(principal);
+        checkCanView(finch, currentUser);
 
-        if (finch.getUser().isPrivate()
-                && !finch.getUser().getId().equals(currentUser.getId())
-                && !followService.isFollowing(currentUser, finch.getUser())) {
-            throw new ConflictException("This user's account is private.");
-        }
+        FinchResponseDto dto = threadLoader.load(finch, currentUser.getId(), depth, fanout);
+        List<FinchResponseDto> thread = new ArrayList<>();
+        collectThread(dto, thread);
+        finchEnrichmentService.enrich(thread, currentUser);
 
-        FinchResponseDto dto = FinchMapper.toFinchResponse(finch, depth);
-        enrichCounters(dto, finch, currentUser);
+        return dto;
+    }
 
-        if (dto.getReplies() != null && depth > 0) {
-            dto.getReplies().forEach(r -> {
-                Finch replyEntity = findFinchById(r.getId());
-                enrichCounters(r, replyEntity, currentUser);
-            });
-        }
+    @Transactional(readOnly = true)
+    public FeedPageResponseDto getReplies(UUID finchId, AuthUser principal, String cursor, int size) {
+        Finch finch = findFinchById(finchId);
+        User currentUser = userService.getCurrentUser(principal);
+        checkCanView(finch, currentUser);
 
-        return dto;
+        ReplyCursor after = ReplyCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_REPLY_PAGE_SIZE));
+        List<Finch> replies = finchRepository.findReplyPage(finch.getId(), currentUser.getId(),
+                after.createdAt(), after.id(), PageRequest.of(0, limit + 1));
+
+        List<Finch> page = replies.subList(0, Math.min(limit, replies.size()));
+        List<FinchResponseDto> dtos = page.stream()
+                .map(FinchMapper::toFinchResponseWithoutReplies)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (replies.size() > limit) {
+            Finch last = page.get(page.size() - 1);
+            nextCursor = ReplyCursor.after(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new FeedPageResponseDto(finchEnrichmentService.enrich(dtos, currentUser), nextCursor);
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getFinchesByUsername(String username, UserDetails userDetails) {
-        User targetUser = userService.findUserByUsernameOrEmail(username);
-        User currentUser = userService.findUserByUsernameOrEmail(userDetails.getUsername());
-        boolean isSelf = targetUser.getId().equals(currentUser.getId());
-        boolean isFollower = followService.isFollowing(currentUser, targetUser);
+    public List<FinchResponseDto> getFinchesByUsername(String username, AuthUser principal) {
+        UserSnapshot targetUser = userService.findSnapshot(username);
+        User currentUser = userService.getCurrentUser(principal);
 
-        return finchRepository.findByUser_Username(username, Sort.by(Sort.Direction.DESC, "createdAt"))
+        List<FinchResponseDto> finches = finchRepository
+                .findVisibleByUsername(targetUser.username(), currentUser.getId(), Sort.by(Sort.Direction.DESC, "createdAt"))
                 .stream()
-                .filter(f -> !f.getUser().isPrivate() || isSelf || isFollower)
-                .map(f -> enrichCounters(FinchMapper.toFinchResponseWithoutReplies(f), f, currentUser))
+                .map(FinchMapper::toFinchResponseWithoutReplies)
                 .collect(Collectors.toList());
+        return finchEnrichmentService.enrich(finches, currentUser);
     }
 
     @Transactional(readOnly = true)
     public List<FinchResponseDto> getLikedFinchesByUser(User user) {
-        return likeService.getLikedFinchesForUser(user)
+        List<FinchResponseDto> finches = likeService.getLikedFinchesForUser(user)
                 .stream()
-                .map(f -> enrichCounters(FinchMapper.toFinchResponseWithoutReplies(f), f, user))
+                .map(FinchMapper::toFinchResponseWithoutReplies)
                 .collect(Collectors.toList());
+        return finchEnrichmentService.enrich(finches, user);
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getBookmarkedFinchesByUser(User user) {
-        return bookmarkService.getUserBookmarks(user.getUsername())
+    public List<FinchResponseDto> getBookmarkedFinches(AuthUser principal) {
+        User user = userService.getCurrentUser(principal);
+        List<FinchResponseDto> finches = bookmarkService.getUserBookmarks(principal)
                 .stream()
-                .map(bookmark -> enrichCounters(FinchMapper.toFinchResponseWithoutReplies(bookmark.getFinch()), bookmark.getFinch(), user))
+                .map(bookmark -> FinchMapper.toFinchResponseWithoutReplies(bookmark.getFinch()))
                 .collect(Collectors.toList());
+        return finchEnrichmentService.enrich(finches, user);
     }
 
     @Transactional
-    public FinchResponseDto replyToFinch(UUID parentId, CreateFinchRequestDto dto, List<MultipartFile> images, UserDetails userDetails) {
+    public FinchResponseDto replyToFinch(UUID parentId, CreateFinchRequestDto dto, List<MultipartFile> images, AuthUser principal) {
         Finch parent = findFinchById(parentId);
-        User author = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+        User author = userService.getCurrentUser(principal);
         User parentOwner = parent.getUser();
 
         boolean isSelf = parentOwner.getId().equals(author.getId());
@@ -227,17 +280,21 @@ public class FinchService {
         reply.setUser(author);
         reply.setParentFinch(parent);
 
-        Finch saved = finchRepository.save(reply);
+        Finch saved = finchRepository.saveAndFlush(reply);
+        tagService.index(saved);
+        engagementCounterService.adjustReplies(parent.getId(), 1);
 
         processImages(images, saved, author);
+        eventPublisher.publishEvent(FinchCreatedEvent.of(saved));
+        eventPublisher.publishEvent(FinchEngagedEvent.of(parent, FinchEngagedEvent.Kind.REPLY));
 
         return enrichCounters(FinchMapper.toFinchResponseWithoutReplies(saved), saved, author);
     }
 
     @Transactional
-    public FinchResponseDto quoteFinch(UUID quotedId, CreateFinchRequestDto dto, List<MultipartFile> images, UserDetails userDetails) {
+    public FinchResponseDto quoteFinch(UUID quotedId, CreateFinchRequestDto dto, List<MultipartFile> images, AuthUser principal) {
         Finch quoted = findFinchById(quotedId);
-        User author = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+        User author = userService.getCurrentUser(principal);
 
         if (quoted.getUser().isPrivate()
                 && !quoted.getUser().getId().equals(author.getId())
@@ -250,9 +307,12 @@ public class FinchService {
         quote.setContent(dto.getContent());
         quote.setQuotedFinch(quoted);
 
-        Finch saved = finchRepository.save(quote);
+        Finch saved = finchRepository.saveAndFlush(quote);
+        tagService.index(saved);
 
         processImages(images, saved, author);
+        eventPublisher.publishEvent(FinchCreatedEvent.of(saved));
+        eventPublisher.publishEvent(FinchEngagedEvent.of(quoted, FinchEngagedEvent.Kind.QUOTE));
 
         return enrichCounters(FinchMapper.toFinchResponseWithoutReplies(saved), saved, author);
     }
@@ -262,20 +322,28 @@ public class FinchService {
         Finch finch = findFinchById(finchId);
         return likeService.getUsersForLikedFinch(finch)
                 .stream()
-                .map(UserMapper::toUserResponse)
+                .map(userCache::toUserResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     protected FinchResponseDto enrichCounters(FinchResponseDto dto, Finch finch, User currentUser) {
-        dto.setLikeCount(likeService.getLikeCountForFinch(finch));
-        dto.setReplyCount(finch.getReplies() != null ? finch.getReplies().size() : 0);
-        dto.setCurrentUserLiked(likeService.isLikedByUser(finch, currentUser));
-        dto.setCurrentUserReposted(refinchService.isRepostedByUser(currentUser, finch));
-        dto.setCurrentUserBookmarked(bookmarkService.isBookmarkedByUser(currentUser, finch));
-        dto.setRepostCount(refinchService.getRepostCount(finch.getId()));
-        dto.setBookmarkCount(bookmarkService.getBookmarkCount(finch));
-        return dto;
+        return finchEnrichmentService.enrich(dto, currentUser);
+    }
+
+    private void checkCanView(Finch finch, User currentUser) {
+        if (finch.getUser().isPrivate()
+                && !finch.getUser().getId().equals(currentUser.getId())
+                && !followService.isFollowing(currentUser, finch.getUser())) {
+            throw new ConflictException("This user's account is private.");
+        }
+    }
+
+    private static void collectThread(FinchResponseDto node, List<FinchResponseDto> out) {
+        out.add(node);
+        if (node.getReplies() != null) {
+            node.getReplies().forEach(reply -> collectThread(reply, out));
+        }
     }
 
     private void processImages(List<MultipartFile> images, Finch finch, User author) {
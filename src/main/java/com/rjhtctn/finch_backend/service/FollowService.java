@@ -1,16 +1,21 @@
 package com.rjhtctn.finch_backend.service;
 
+import com.rjhtctn.finch_backend.cache.UserCache;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.event.FollowCreatedEvent;
+import com.rjhtctn.finch_backend.event.FollowRemovedEvent;
 import com.rjhtctn.finch_backend.exception.ConflictException;
-import com.rjhtctn.finch_backend.mapper.UserMapper;
+import com.rjhtctn.finch_backend.graph.FollowGraph;
 import com.rjhtctn.finch_backend.model.Follow;
 import com.rjhtctn.finch_backend.model.User;
 import com.rjhtctn.finch_backend.repository.FollowRepository;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,18 +24,27 @@ public class FollowService {
     private final UserService userService;
     private final FollowRepository followRepository;
     private final FollowRequestService followRequestService;
+    private final FollowGraph followGraph;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCache userCache;
 
     public FollowService(UserService userService,
                          FollowRepository followRepository,
-                         @Lazy FollowRequestService followRequestService) {
+                         @Lazy FollowRequestService followRequestService,
+                         FollowGraph followGraph,
+                         ApplicationEventPublisher eventPublisher,
+                         UserCache userCache) {
         this.userService = userService;
         this.followRepository = followRepository;
         this.followRequestService = followRequestService;
+        this.followGraph = followGraph;
+        this.eventPublisher = eventPublisher;
+        this.userCache = userCache;
     }
 
     @Transactional
-    public String followUser(String targetUsername, UserDetails userDetails) {
-        User follower = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public String followUser(String targetUsername, AuthUser principal) {
+        User follower = userService.getCurrentUser(principal);
         User following = userService.findUserByUsernameOrEmail(targetUsername);
 
         if (follower.equals(following)) {
@@ -50,6 +64,7 @@ public class FollowService {
         follow.setFollower(follower);
         follow.setFollowing(following);
         followRepository.save(follow);
+        eventPublisher.publishEvent(new FollowCreatedEvent(follower.getId(), following.getId()));
         return "followed";
     }
 
@@ -60,27 +75,31 @@ public class FollowService {
         follow.setFollower(follower);
         follow.setFollowing(following);
         followRepository.save(follow);
+        eventPublisher.publishEvent(new FollowCreatedEvent(follower.getId(), following.getId()));
     }
 
-    public void unfollowUser(String usernameToUnfollow, UserDetails currentUserDetails) {
-        User follower = findUserByUsername(currentUserDetails.getUsername());
+    @Transactional
+    public void unfollowUser(String usernameToUnfollow, AuthUser currentPrincipal) {
+        User follower = userService.getCurrentUser(currentPrincipal);
         User following = findUserByUsername(usernameToUnfollow);
 
         Follow followToDelete = followRepository.findByFollowerAndFollowing(follower, following)
                 .orElseThrow(() -> new ConflictException("You are not following this user."));
 
         followRepository.delete(followToDelete);
+        eventPublisher.publishEvent(new FollowRemovedEvent(follower.getId(), following.getId()));
     }
 
     @Transactional
-    public void removeFollower(UserDetails currentUserDetails, String followerUsername) {
-        User currentUser = userService.findUserByUsernameOrEmail(currentUserDetails.getUsername());
+    public void removeFollower(AuthUser currentPrincipal, String followerUsername) {
+        User currentUser = userService.getCurrentUser(currentPrincipal);
         User follower = userService.findUserByUsernameOrEmail(followerUsername);
 
         Follow followRecord = followRepository.findByFollowerAndFollowing(follower, currentUser)
                 .orElseThrow(() -> new ConflictException(followerUsername + " is not following you."));
 
         followRepository.delete(followRecord);
+        eventPublisher.publishEvent(new FollowRemovedEvent(follower.getId(), currentUser.getId()));
     }
 
     private User findUserByUsername(String username) {
@@ -91,7 +110,7 @@ public class FollowService {
         List<Follow> followRecords = followRepository.findAllByFollowing(user);
 
         return followRecords.stream()
-                .map(follow -> UserMapper.toUserResponse(follow.getFollower()))
+                .map(follow -> userCache.toUserResponse(follow.getFollower()))
                 .collect(Collectors.toList());
     }
 
@@ -99,11 +118,32 @@ public class FollowService {
         List<Follow> followRecords = followRepository.findAllByFollower(user);
 
         return followRecords.stream()
-                .map(follow -> UserMapper.toUserResponse(follow.getFollowing()))
+                .map(follow -> userCache.toUserResponse(follow.getFollowing()))
                 .collect(Collectors.toList());
     }
 
     public boolean isFollowing(User follower, User target) {
+        if (followGraph.isLoaded()) return followGraph.isFollowing(follower.getId(), target.getId());
         return followRepository.findByFollowerAndFollowing(follower, target).isPresent();
     }
+
+    public long countFollowers(User user) {
+        if (followGraph.isLoaded()) return followGraph.followerCount(user.getId());
+        return followRepository.countByFollowing(user);
+    }
+
+    public long countFollowing(User user) {
+        if (followGraph.isLoaded()) return followGraph.followingCount(user.getId());
+        return followRepository.countByFollower(user);
+    }
+
+    public List<UUID> getFollowerIds(UUID userId) {
+        if (followGraph.isLoaded()) return followGraph.followerIds(userId);
+        return followRepository.findFollowerIds(userId);
+    }
+
+    public List<UUID> getFollowingIds(UUID userId) {
+        if (followGraph.isLoaded()) return followGraph.followingIds(userId);
+        return followRepository.findFollowingIds(userId);
+    }
 }
\ No newline at end of file
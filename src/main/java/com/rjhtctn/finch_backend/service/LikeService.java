@@ -1,13 +1,16 @@
 package com.rjhtctn.finch_backend.service;
 
+import com.rjhtctn.finch_backend.event.FinchEngagedEvent;
 import com.rjhtctn.finch_backend.exception.ConflictException;
+import com.rjhtctn.finch_backend.interaction.ViewerInteractionCache;
 import com.rjhtctn.finch_backend.model.Finch;
 import com.rjhtctn.finch_backend.model.Like;
 import com.rjhtctn.finch_backend.model.User;
 import com.rjhtctn.finch_backend.repository.LikeRepository;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,27 +25,34 @@ public class LikeService {
     private final UserService userService;
     private final FinchService finchService;
     private final FollowService followService;
+    private final EngagementCounterService engagementCounterService;
+    private final ViewerInteractionCache viewerInteractionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LikeService(LikeRepository likeRepository,
                        UserService userService,
                        @Lazy FinchService finchService,
-                       FollowService followService) {
+                       FollowService followService,
+                       EngagementCounterService engagementCounterService,
+                       ViewerInteractionCache viewerInteractionCache,
+                       ApplicationEventPublisher eventPublisher) {
         this.likeRepository = likeRepository;
         this.userService = userService;
         this.finchService = finchService;
         this.followService = followService;
+        this.engagementCounterService = engagementCounterService;
+        this.viewerInteractionCache = viewerInteractionCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public void likeFinch(UUID finchId, UserDetails userDetails) {
-        User user = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public void likeFinch(UUID finchId, AuthUser principal) {
+        User user = userService.getCurrentUser(principal);
         Finch finch = finchService.findFinchById(finchId);
         User owner = finch.getUser();
 
         if (owner.isPrivate() && !owner.getId().equals(user.getId())) {
-            boolean isFollowing = followService.getFollowing(user).stream()
-                    .anyMatch(f -> f.getId().equals(owner.getId()));
-            if (!isFollowing) {
+            if (!followService.isFollowing(user, owner)) {
                 throw new AccessDeniedException("You cannot like a private user's finch.");
             }
         }
@@ -53,21 +63,26 @@ public class LikeService {
 
         Like newLike = new Like(user, finch);
         likeRepository.save(newLike);
+        engagementCounterService.adjustLikes(finch.getId(), 1);
+        viewerInteractionCache.recordLike(user.getId(), finch.getId(), true);
+        eventPublisher.publishEvent(FinchEngagedEvent.of(finch, FinchEngagedEvent.Kind.LIKE));
     }
 
     @Transactional
-    public void unlikeFinch(UUID finchId, UserDetails userDetails) {
-        User user = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public void unlikeFinch(UUID finchId, AuthUser principal) {
+        User user = userService.getCurrentUser(principal);
         Finch finch = finchService.findFinchById(finchId);
 
         Like likeToDelete = likeRepository.findByUserAndFinch(user, finch)
                 .orElseThrow(() -> new ConflictException("You have not liked this finch."));
 
         likeRepository.delete(likeToDelete);
+        engagementCounterService.adjustLikes(finch.getId(), -1);
+        viewerInteractionCache.recordLike(user.getId(), finch.getId(), false);
     }
 
     public int getLikeCountForFinch(Finch finch) {
-        return likeRepository.countByFinch(finch);
+        return (int) finch.getLikeCount();
     }
 
     public List<User> getUsersForLikedFinch(Finch finch) {
@@ -84,6 +99,6 @@ public class LikeService {
 
     public boolean isLikedByUser(Finch finch, User user) {
         if (finch == null || user == null) return false;
-        return likeRepository.findByUserAndFinch(user, finch).isPresent();
+        return viewerInteractionCache.forViewer(user.getId()).liked(finch.getId());
     }
 }
\ No newline at end of file
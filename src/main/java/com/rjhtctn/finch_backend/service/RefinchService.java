@@ -1,12 +1,17 @@
 package com.rjhtctn.finch_backend.service;
 
+import com.rjhtctn.finch_backend.event.FinchEngagedEvent;
+import com.rjhtctn.finch_backend.event.RepostCreatedEvent;
+import com.rjhtctn.finch_backend.event.RepostRemovedEvent;
 import com.rjhtctn.finch_backend.exception.ConflictException;
 import com.rjhtctn.finch_backend.exception.ResourceNotFoundException;
+import com.rjhtctn.finch_backend.interaction.ViewerInteractionCache;
 import com.rjhtctn.finch_backend.model.*;
 import com.rjhtctn.finch_backend.repository.RefinchRepository;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,18 +22,27 @@ public class RefinchService {
     private final RefinchRepository refinchRepository;
     private final FinchService finchService;
     private final UserService userService;
+    private final EngagementCounterService engagementCounterService;
+    private final ViewerInteractionCache viewerInteractionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RefinchService(RefinchRepository refinchRepository,
                          FinchService finchService,
-                         UserService userService) {
+                         UserService userService,
+                         EngagementCounterService engagementCounterService,
+                         ViewerInteractionCache viewerInteractionCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.refinchRepository = refinchRepository;
         this.finchService = finchService;
         this.userService = userService;
+        this.engagementCounterService = engagementCounterService;
+        this.viewerInteractionCache = viewerInteractionCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public void repostFinch(java.util.UUID finchId, UserDetails userDetails) {
-        User user = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public void repostFinch(java.util.UUID finchId, AuthUser principal) {
+        User user = userService.getCurrentUser(principal);
         Finch finch = finchService.findFinchById(finchId);
 
         if (refinchRepository.existsByUserAndFinch(user, finch)) {
@@ -39,21 +53,32 @@ public class RefinchService {
         repost.setUser(user);
         repost.setFinch(finch);
         refinchRepository.save(repost);
+        engagementCounterService.adjustReposts(finch.getId(), 1);
+        viewerInteractionCache.recordRepost(user.getId(), finch.getId(), true);
+        eventPublisher.publishEvent(RepostCreatedEvent.of(repost));
+        eventPublisher.publishEvent(FinchEngagedEvent.of(finch, FinchEngagedEvent.Kind.REPOST));
     }
 
     @Transactional
-    public void removeRepost(java.util.UUID finchId, UserDetails userDetails) {
-        User user = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+    public void removeRepost(java.util.UUID finchId, AuthUser principal) {
+        User user = userService.getCurrentUser(principal);
         Finch finch = finchService.findFinchById(finchId);
         ReFinch repost = refinchRepository.findByUserAndFinch(user, finch)
                 .orElseThrow(() -> new ResourceNotFoundException("Repost not found."));
         refinchRepository.delete(repost);
+        engagementCounterService.adjustReposts(finch.getId(), -1);
+        viewerInteractionCache.recordRepost(user.getId(), finch.getId(), false);
+        eventPublisher.publishEvent(RepostRemovedEvent.of(repost));
     }
 
     @Transactional(readOnly = true)
     public long getRepostCount(java.util.UUID finchId) {
-        Finch finch = finchService.findFinchById(finchId);
-        return refinchRepository.countByFinch(finch);
+        return finchService.findFinchById(finchId).getRepostCount();
+    }
+
+    @Transactional(readOnly = true)
+    public List<java.util.UUID> getReposterIds(java.util.UUID finchId) {
+        return refinchRepository.findUserIdsByFinchId(finchId);
     }
 
     @Transactional(readOnly = true)
@@ -63,12 +88,12 @@ public class RefinchService {
 
     @Transactional(readOnly = true)
     public boolean isRepostedByUser(User user, Finch finch) {
-        return refinchRepository.existsByUserAndFinch(user, finch);
+        return viewerInteractionCache.forViewer(user.getId()).reposted(finch.getId());
     }
 
     @Transactional(readOnly = true)
     public List<ReFinch> getAllRepostsByUser(String username) {
-        User user = userService.findUserByUsernameOrEmail(username);
+        User user = userService.findUserReference(username);
         return refinchRepository.findByUser(user)
                 .orElseGet(List::of);
     }
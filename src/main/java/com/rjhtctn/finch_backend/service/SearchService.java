@@ -2,6 +2,7 @@ package com.rjhtctn.finch_backend.service;
 
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
 import com.rjhtctn.finch_backend.dto.search.CombinedSearchResponseDto;
+import com.rjhtctn.finch_backend.dto.search.SearchPageResponseDto;
 import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
 import com.rjhtctn.finch_backend.mapper.FinchMapper;
 import com.rjhtctn.finch_backend.mapper.UserMapper;
@@ -9,82 +10,284 @@ import com.rjhtctn.finch_backend.model.Finch;
 import com.rjhtctn.finch_backend.model.User;
 import com.rjhtctn.finch_backend.repository.FinchRepository;
 import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.search.SearchBackend;
+import com.rjhtctn.finch_backend.search.SearchBranchExecutor;
+import com.rjhtctn.finch_backend.search.SearchCursor;
+import com.rjhtctn.finch_backend.search.SearchHits;
+import com.rjhtctn.finch_backend.search.SearchIndex;
+import com.rjhtctn.finch_backend.search.TrigramIndex;
+import com.rjhtctn.finch_backend.search.Trigrams;
+import com.rjhtctn.finch_backend.search.UserTypeahead;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SearchService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_TYPEAHEAD_SIZE = 20;
+    private static final int MAX_FUZZY_WORDS = 8;
+    private static final int MAX_FUZZY_CANDIDATES = 500;
+
     private final UserRepository userRepository;
     private final FinchRepository finchRepository;
-    private final FollowService followService;
-    private final LikeService likeService;
-    private final RefinchService refinchService;
     private final UserService userService;
-    private final BookmarkService bookmarkService;
+    private final FinchEnrichmentService finchEnrichmentService;
+    private final FollowService followService;
+    private final SearchBackend searchBackend;
+    private final SearchIndex searchIndex;
+    private final UserTypeahead userTypeahead;
+    private final TrigramIndex trigramIndex;
+    private final SearchBranchExecutor searchBranchExecutor;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
-    public Page<UserResponseDto> searchUsers(String query, UserDetails userDetails, Pageable pageable) {
+    public Page<UserResponseDto> searchUsers(String query, AuthUser principal, Pageable pageable) {
         if (query == null || query.trim().isEmpty()) return Page.empty(pageable);
 
-        User currentUser = userService.findUserByUsernameOrEmail(userDetails.getUsername());
+        User currentUser = userService.getCurrentUserReference(principal);
 
-        Page<User> users = userRepository
-                .findByUsernameContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrBioContainingIgnoreCase(
-                        query, query, query, query, pageable
-                );
+        return searchBackend.searchUsers(query.trim(), currentUser.getId(), pageable)
+                .map(UserMapper::toUserResponse);
+    }
 
-        List<UserResponseDto> filtered = users.getContent().stream()
-                .filter(u -> !u.isPrivate() || followService.isFollowing(currentUser, u) || u.getId().equals(currentUser.getId()))
-                .map(UserMapper::toUserResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public Page<FinchResponseDto> searchFinches(String query, AuthUser principal, Pageable pageable) {
+        if (query == null || query.trim().isEmpty()) return Page.empty(pageable);
+
+        User currentUser = userService.getCurrentUserReference(principal);
 
-        return new PageImpl<>(filtered, pageable, users.getTotalElements());
+        Page<FinchResponseDto> finches = searchBackend.searchFinches(query.trim(), currentUser.getId(), pageable)
+                .map(FinchMapper::toFinchResponseWithoutReplies);
+
+        finchEnrichmentService.enrich(finches.getContent(), currentUser);
+        return finches;
     }
 
+    /**
+     * Runs the user and finch searches side by side, each in its own read-only transaction. A branch that
+     * fails, is rejected by a saturated pool or is still running when the shared deadline passes contributes
+     * no results and the response is marked partial. The transaction timeout is taken from the deadline, so
+     * the statements of a late branch are cancelled by the driver instead of running on unobserved.
+     */
+    public CombinedSearchResponseDto searchAll(String query, AuthUser principal, Pageable pageable) {
+        if (query == null || query.trim().isEmpty()) return new CombinedSearchResponseDto(List.of(), List.of(), false);
+
+        User currentUser = userService.getCurrentUser(principal);
+        String text = query.trim();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchBranchExecutor.timeoutMillis());
+
+        CompletableFuture<List<UserResponseDto>> users = searchBranchExecutor.submit(() -> readOnly(deadline, () ->
+                searchBackend.searchUsers(text, currentUser.getId(), pageable)
+                        .map(UserMapper::toUserResponse)
+                        .getContent()));
+        CompletableFuture<List<FinchResponseDto>> finches = searchBranchExecutor.submit(() -> readOnly(deadline, () -> {
+            List<FinchResponseDto> dtos = searchBackend.searchFinches(text, currentUser.getId(), pageable)
+                    .map(FinchMapper::toFinchResponseWithoutReplies)
+                    .getContent();
+            return finchEnrichmentService.enrich(new ArrayList<>(dtos), currentUser);
+        }));
+
+        List<UserResponseDto> userResults = await(users, deadline, "users");
+        List<FinchResponseDto> finchResults = await(finches, deadline, "finches");
+        return new CombinedSearchResponseDto(
+                userResults != null ? userResults : List.of(),
+                finchResults != null ? finchResults : List.of(),
+                userResults == null || finchResults == null);
+    }
+
+    private <T> T readOnly(long deadline, Supplier<T> work) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) throw new TransactionTimedOutException("Search deadline passed before the branch started");
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        // applied as the query timeout of every statement in the branch; JDBC only takes whole seconds
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1);
+        template.setTimeout((int) Math.max(1, seconds));
+        return template.execute(status -> work.get());
+    }
+
+    /** Waits for a branch until the deadline; {@code null} when it failed or did not finish in time. */
+    private static <T> List<T> await(CompletableFuture<List<T>> branch, long deadline, String name) {
+        try {
+            return branch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            branch.cancel(false);
+            log.warn("Search branch '{}' timed out; returning partial results.", name);
+        } catch (ExecutionException e) {
+            log.warn("Search branch '{}' failed; returning partial results.", name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Relevance-ranked user search served from the embedded index. Only the ids of one page come from the
+     * index; the rows are then loaded by primary key and re-checked, since the index trails writes by a
+     * moment.
+     */
     @Transactional(readOnly = true)
-    public Page<FinchResponseDto> searchFinches(String query, UserDetails userDetails, Pageable pageable) {
-        if (query == null || query.trim().isEmpty()) return Page.empty(pageable);
+    public SearchPageResponseDto<UserResponseDto> searchUsersRanked(String query, AuthUser principal,
+                                                                    String cursor, int size) {
+        if (query == null || query.isBlank()) return new SearchPageResponseDto<>(List.of(), null);
+        User currentUser = userService.getCurrentUserReference(principal);
 
-        User currentUser = userService.findUserByUsernameOrEmail(userDetails.getUsername());
-
-        Page<Finch> finches = finchRepository.findByContentContainingIgnoreCase(query, pageable);
-
-        List<FinchResponseDto> visibleFinches = finches.getContent().stream()
-                .filter(f -> {
-                    User author = f.getUser();
-                    return !author.isPrivate()
-                            || author.getId().equals(currentUser.getId())
-                            || followService.isFollowing(currentUser, author);
-                })
-                .map(f -> {
-                    FinchResponseDto dto = FinchMapper.toFinchResponseWithoutReplies(f);
-                    dto.setLikeCount(likeService.getLikeCountForFinch(f));
-                    dto.setReplyCount(f.getReplies() != null ? f.getReplies().size() : 0);
-                    dto.setRepostCount(refinchService.getRepostCount(f.getId()));
-                    dto.setCurrentUserLiked(likeService.isLikedByUser(f, currentUser));
-                    dto.setCurrentUserReposted(refinchService.isRepostedByUser(currentUser, f));
-                    dto.setCurrentUserBookmarked(bookmarkService.isBookmarkedByUser(currentUser, f));
-                    dto.setBookmarkCount(bookmarkService.getBookmarkCount(f));
-                    return dto;
-                })
+        SearchHits hits = searchIndex.search(SearchIndex.Kind.USER, query.trim(), currentUser.getId(),
+                followService.getFollowingIds(currentUser.getId()), SearchCursor.decode(cursor), clampPageSize(size));
+        Map<UUID, User> users = userRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<UserResponseDto> items = hits.ids().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .filter(user -> canSee(currentUser, user))
+                .map(UserMapper::toUserResponse)
                 .collect(Collectors.toList());
+        return new SearchPageResponseDto<>(items, hits.nextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public SearchPageResponseDto<FinchResponseDto> searchFinchesRanked(String query, AuthUser principal,
+                                                                      String cursor, int size) {
+        if (query == null || query.isBlank()) return new SearchPageResponseDto<>(List.of(), null);
+        User currentUser = userService.getCurrentUserReference(principal);
 
-        return new PageImpl<>(visibleFinches, pageable, finches.getTotalElements());
+        SearchHits hits = searchIndex.search(SearchIndex.Kind.FINCH, query.trim(), currentUser.getId(),
+                followService.getFollowingIds(currentUser.getId()), SearchCursor.decode(cursor), clampPageSize(size));
+        Map<UUID, Finch> finches = hits.ids().isEmpty() ? Map.of() :
+                finchRepository.findAllWithUserByIdIn(hits.ids()).stream()
+                        .collect(Collectors.toMap(Finch::getId, Function.identity()));
+
+        List<FinchResponseDto> items = hits.ids().stream()
+                .map(finches::get)
+                .filter(Objects::nonNull)
+                .filter(finch -> canSee(currentUser, finch.getUser()))
+                .map(FinchMapper::toFinchResponseWithoutReplies)
+                .collect(Collectors.toList());
+        return new SearchPageResponseDto<>(finchEnrichmentService.enrich(items, currentUser), hits.nextCursor());
     }
 
+    /**
+     * Typo-tolerant finch search. Candidates come from {@link TrigramIndex} by trigram overlap; a candidate
+     * is kept only when every query word is within {@link Trigrams#allowedEdits} of some word of its
+     * content. Results are ordered by total edit distance, then overlap, then recency.
+     */
     @Transactional(readOnly = true)
-    public CombinedSearchResponseDto searchAll(String query, UserDetails userDetails, Pageable pageable) {
-        Page<UserResponseDto> users = searchUsers(query, userDetails, pageable);
-        Page<FinchResponseDto> finches = searchFinches(query, userDetails, pageable);
-        return new CombinedSearchResponseDto(users.getContent(), finches.getContent());
+    public Page<FinchResponseDto> searchFinchesFuzzy(String query, AuthUser principal, Pageable pageable) {
+        List<String> queryWords = Trigrams.words(query).stream()
+                .filter(word -> word.length() >= 3)
+                .distinct()
+                .limit(MAX_FUZZY_WORDS)
+                .toList();
+        if (queryWords.isEmpty()) return Page.empty(pageable);
+
+        Set<String> trigrams = new LinkedHashSet<>();
+        int minOverlap = 1;
+        for (String word : queryWords) {
+            Set<String> wordTrigrams = Trigrams.of(word);
+            trigrams.addAll(wordTrigrams);
+            // every edit breaks at most three trigrams of the word
+            minOverlap = Math.max(minOverlap, wordTrigrams.size() - 3 * Trigrams.allowedEdits(word));
+        }
+        List<TrigramIndex.Candidate> candidates = trigramIndex.candidates(trigrams, minOverlap, MAX_FUZZY_CANDIDATES);
+        if (candidates.isEmpty()) return Page.empty(pageable);
+
+        User currentUser = userService.getCurrentUserReference(principal);
+        Map<UUID, Integer> overlaps = candidates.stream()
+                .collect(Collectors.toMap(TrigramIndex.Candidate::finchId, TrigramIndex.Candidate::overlap));
+        Map<UUID, Integer> distances = new HashMap<>();
+        List<Finch> matches = new ArrayList<>();
+        for (Finch finch : finchRepository.findAllWithUserByIdIn(overlaps.keySet())) {
+            if (!canSee(currentUser, finch.getUser())) continue;
+            int distance = fuzzyDistance(queryWords, Trigrams.words(finch.getContent()));
+            if (distance < 0) continue;
+            distances.put(finch.getId(), distance);
+            matches.add(finch);
+        }
+
+        List<Finch> ranked = matches.stream()
+                .sorted(Comparator.<Finch>comparingInt(finch -> distances.get(finch.getId()))
+                        .thenComparing(finch -> overlaps.get(finch.getId()), Comparator.reverseOrder())
+                        .thenComparing(Finch::getCreatedAt, Comparator.reverseOrder()))
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<FinchResponseDto> items = ranked.subList(from, to).stream()
+                .map(FinchMapper::toFinchResponseWithoutReplies)
+                .collect(Collectors.toList());
+        return new PageImpl<>(finchEnrichmentService.enrich(items, currentUser), pageable, ranked.size());
+    }
+
+    /** Sum of each query word's closest distance to a content word, or -1 when a word has no close match. */
+    private static int fuzzyDistance(List<String> queryWords, List<String> contentWords) {
+        int total = 0;
+        for (String queryWord : queryWords) {
+            int allowed = Trigrams.allowedEdits(queryWord);
+            int best = allowed + 1;
+            for (String contentWord : contentWords) {
+                best = Math.min(best, Trigrams.distance(queryWord, contentWord, allowed));
+                if (best == 0) break;
+            }
+            if (best > allowed) return -1;
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Prefix completion for the search box, answered from {@link UserTypeahead} without a query. Until the
+     * typeahead has finished loading at startup the LIKE search is used instead.
+     */
+    public List<UserResponseDto> typeahead(String prefix, AuthUser principal, int limit) {
+        if (prefix == null || prefix.isBlank()) return List.of();
+        int size = Math.max(1, Math.min(limit, MAX_TYPEAHEAD_SIZE));
+
+        if (!userTypeahead.isLoaded()) {
+            return userRepository.searchVisible(prefix.trim(), principal.getId(), PageRequest.of(0, size))
+                    .map(UserMapper::toUserResponse)
+                    .getContent();
+        }
+
+        return userTypeahead.complete(prefix, principal.getId(), size).stream()
+                .map(UserMapper::toUserResponse)
+                .collect(Collectors.toList());
+    }
+
+    private boolean canSee(User viewer, User author) {
+        return !author.isPrivate() || author.getId().equals(viewer.getId()) || followService.isFollowing(viewer, author);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.rjhtctn.finch_backend.service;
+
+import com.rjhtctn.finch_backend.dto.feed.FeedCursor;
+import com.rjhtctn.finch_backend.dto.feed.FeedPageResponseDto;
+import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
+import com.rjhtctn.finch_backend.mapper.FinchMapper;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.FinchMention;
+import com.rjhtctn.finch_backend.model.FinchTag;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import com.rjhtctn.finch_backend.tag.TagExtractor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class TagService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final FinchRepository finchRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final FinchEnrichmentService finchEnrichmentService;
+
+    public TagService(FinchRepository finchRepository,
+                      UserRepository userRepository,
+                      UserService userService,
+                      FinchEnrichmentService finchEnrichmentService) {
+        this.finchRepository = finchRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.finchEnrichmentService = finchEnrichmentService;
+    }
+
+    /**
+     * Brings the hashtag and mention postings of a saved finch in line with its content. Only postings that
+     * are no longer in the text are removed and only new ones are added, so an edit that leaves the tags
+     * alone writes nothing.
+     */
+    @Transactional
+    public void index(Finch finch) {
+        Set<String> tags = TagExtractor.hashtags(finch.getContent());
+        finch.getTags().removeIf(posting -> !tags.contains(posting.getTag()));
+        Set<String> indexedTags = finch.getTags().stream().map(FinchTag::getTag).collect(Collectors.toSet());
+        for (String tag : tags) {
+            if (!indexedTags.contains(tag)) finch.getTags().add(new FinchTag(finch, tag));
+        }
+
+        Set<String> usernames = TagExtractor.mentions(finch.getContent());
+        Map<UUID, User> mentioned = usernames.isEmpty() ? Map.of() :
+                userRepository.findAllByUsernameIn(usernames).stream()
+                        .collect(Collectors.toMap(User::getId, u -> u));
+        finch.getMentions().removeIf(posting -> !mentioned.containsKey(posting.getUser().getId()));
+        Set<UUID> indexedUsers = finch.getMentions().stream()
+                .map(posting -> posting.getUser().getId())
+                .collect(Collectors.toSet());
+        for (User user : mentioned.values()) {
+            if (!indexedUsers.contains(user.getId())) finch.getMentions().add(new FinchMention(finch, user));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public FeedPageResponseDto getTagTimeline(String tag, AuthUser principal, String cursor, int size) {
+        User viewer = userService.getCurrentUserReference(principal);
+        FeedCursor after = FeedCursor.decode(cursor);
+        int limit = clampPageSize(size);
+
+        List<Finch> finches = finchRepository.findTagPage(TagExtractor.normalize(tag), viewer.getId(),
+                toLocalDateTime(after), after.finchTieBreaker(), PageRequest.of(0, limit + 1));
+        return toPage(finches, limit, viewer);
+    }
+
+    @Transactional(readOnly = true)
+    public FeedPageResponseDto getMentions(String username, AuthUser principal, String cursor, int size) {
+        User viewer = userService.getCurrentUserReference(principal);
+        User mentioned = userService.findUserReference(username);
+        FeedCursor after = FeedCursor.decode(cursor);
+        int limit = clampPageSize(size);
+
+        List<Finch> finches = finchRepository.findMentionPage(mentioned.getId(), viewer.getId(),
+                toLocalDateTime(after), after.finchTieBreaker(), PageRequest.of(0, limit + 1));
+        return toPage(finches, limit, viewer);
+    }
+
+    private FeedPageResponseDto toPage(List<Finch> finches, int limit, User viewer) {
+        List<Finch> page = finches.subList(0, Math.min(limit, finches.size()));
+        List<FinchResponseDto> dtos = page.stream()
+                .map(FinchMapper::toFinchResponseWithoutReplies)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (finches.size() > limit) {
+            Finch last = page.get(page.size() - 1);
+            nextCursor = FeedCursor.ofFinch(last.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                    last.getId()).encode();
+        }
+        return new FeedPageResponseDto(finchEnrichmentService.enrich(dtos, viewer), nextCursor);
+    }
+
+    private static LocalDateTime toLocalDateTime(FeedCursor cursor) {
+        return LocalDateTime.ofInstant(cursor.createdAt(), ZoneId.systemDefault());
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
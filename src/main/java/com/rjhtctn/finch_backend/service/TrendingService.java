@@ -0,0 +1,25 @@
+package com.rjhtctn.finch_backend.service;
+
+import com.rjhtctn.finch_backend.dto.trending.TrendingFinchDto;
+import com.rjhtctn.finch_backend.trending.TrendingTracker;
+import com.rjhtctn.finch_backend.trending.TrendingWindow;
+import org.springframework.stereotype.Service;
+import java.util.List;
+
+@Service
+public class TrendingService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TrendingTracker trendingTracker;
+
+    public TrendingService(TrendingTracker trendingTracker) {
+        this.trendingTracker = trendingTracker;
+    }
+
+    public List<TrendingFinchDto> getTrendingFinches(String window, int limit) {
+        return trendingTracker.top(TrendingWindow.parse(window), Math.max(1, Math.min(limit, MAX_LIMIT))).stream()
+                .map(entry -> new TrendingFinchDto(entry.key().finchId(), entry.key().authorId(), entry.score()))
+                .toList();
+    }
+}
@@ -1,16 +1,22 @@
 package com.rjhtctn.finch_backend.service;
 
+import com.rjhtctn.finch_backend.cache.UserCache;
+import com.rjhtctn.finch_backend.cache.UserSnapshot;
 import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
 import com.rjhtctn.finch_backend.dto.user.*;
+import com.rjhtctn.finch_backend.event.UserDeletedEvent;
+import com.rjhtctn.finch_backend.event.UserPrivacyChangedEvent;
+import com.rjhtctn.finch_backend.event.UserUpdatedEvent;
 import com.rjhtctn.finch_backend.exception.ConflictException;
 import com.rjhtctn.finch_backend.exception.ResourceNotFoundException;
 import com.rjhtctn.finch_backend.mapper.UserMapper;
 import com.rjhtctn.finch_backend.model.User;
 import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.security.AuthUser;
 import com.rjhtctn.finch_backend.security.JwtService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +38,8 @@ public class UserService {
     private final ImageKitService imageKitService;
     private final MailService mailService;
     private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCache userCache;
 
     public UserService(UserRepository userRepository,
                        @Lazy FinchService finchService,
@@ -39,7 +48,9 @@ public class UserService {
                        ValidTokenService validTokenService,
                        ImageKitService imageKitService,
                        MailService mailService,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       ApplicationEventPublisher eventPublisher,
+                       UserCache userCache) {
         this.userRepository = userRepository;
         this.finchService = finchService;
         this.followService = followService;
@@ -48,15 +59,68 @@ public class UserService {
         this.imageKitService = imageKitService;
         this.mailService = mailService;
         this.jwtService = jwtService;
+        this.eventPublisher = eventPublisher;
+        this.userCache = userCache;
     }
 
+    /**
+     * The caller's row, loaded by primary key. Repeated calls within one transaction are answered by the
+     * persistence context.
+     */
+    @Transactional(readOnly = true)
+    public User getCurrentUser(AuthUser principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + principal.getId()));
+    }
+
+    /**
+     * Proxy for the caller that is only loaded when a field other than the id is read; enough for id based
+     * queries, follow checks and enrichment. Must be used inside a transaction.
+     */
+    public User getCurrentUserReference(AuthUser principal) {
+        return userRepository.getReferenceById(principal.getId());
+    }
+
+    /**
+     * Loads the user entity, for callers that change it or need fields the cache does not hold. The cache
+     * only saves the username lookup here; read paths use {@link #findSnapshot} or {@link #findUserReference}.
+     */
     @Transactional(readOnly = true)
     public User findUserByUsernameOrEmail(String usernameOrEmail) {
-        return userRepository.findByUsername(usernameOrEmail)
+        UUID cachedId = userCache.idOf(usernameOrEmail);
+        if (cachedId != null) {
+            User cached = userRepository.findById(cachedId).orElse(null);
+            if (cached != null && matches(cached, usernameOrEmail)) return cached;
+            userCache.forget(usernameOrEmail);
+        }
+
+        User user = userRepository.findByUsername(usernameOrEmail)
                 .or(() -> userRepository.findByEmail(usernameOrEmail))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "User not found with username or email: " + usernameOrEmail
                 ));
+        userCache.put(user);
+        return user;
+    }
+
+    /** Cached copy of the user; reads the database only on a cache miss. */
+    public UserSnapshot findSnapshot(String usernameOrEmail) {
+        UUID cachedId = userCache.idOf(usernameOrEmail);
+        UserSnapshot cached = cachedId != null ? userCache.get(cachedId) : null;
+        if (cached != null && (usernameOrEmail.equalsIgnoreCase(cached.username())
+                || usernameOrEmail.equalsIgnoreCase(cached.email()))) {
+            return cached;
+        }
+        return UserSnapshot.of(findUserByUsernameOrEmail(usernameOrEmail));
+    }
+
+    /** Uninitialized reference for queries that only need the user's id; no read on a cache hit. */
+    public User findUserReference(String usernameOrEmail) {
+        return userRepository.getReferenceById(findSnapshot(usernameOrEmail).id());
+    }
+
+    private static boolean matches(User user, String usernameOrEmail) {
+        return usernameOrEmail.equalsIgnoreCase(user.getUsername()) || usernameOrEmail.equalsIgnoreCase(user.getEmail());
     }
 
     @Transactional(readOnly = true)
@@ -68,35 +132,41 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public UserProfileResponseDto getOneUser(String username) {
-        User user = findUserByUsernameOrEmail(username);
-        return UserMapper.toUserProfileResponse(user);
+        UserSnapshot snapshot = findSnapshot(username);
+        UserProfileResponseDto dto = snapshot.toUserProfileResponse();
+        User user = userRepository.getReferenceById(snapshot.id());
+        dto.setFollowerCount(followService.countFollowers(user));
+        dto.setFollowingCount(followService.countFollowing(user));
+        return dto;
     }
 
     @Transactional(readOnly = true)
-    public UserMeResponseDto getMyProfile(UserDetails userDetails) {
-        return UserMapper.toUserMeResponse(findUserByUsernameOrEmail(userDetails.getUsername()));
+    public UserMeResponseDto getMyProfile(AuthUser principal) {
+        return UserMapper.toUserMeResponse(getCurrentUser(principal));
     }
 
     @Transactional
-    public UserMeResponseDto updateUserProfile(String username, UpdateUserProfileRequestDto request) {
-        User user = findUserByUsernameOrEmail(username);
+    public UserMeResponseDto updateUserProfile(AuthUser principal, UpdateUserProfileRequestDto request) {
+        User user = getCurrentUser(principal);
         UserMapper.updateUserFromDto(user, request);
         userRepository.save(user);
+        userCache.invalidate(user.getId());
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getId()));
         return UserMapper.toUserMeResponse(user);
     }
 
     @Transactional
-    public UserMeResponseDto updateProfileImage(UserDetails userDetails, MultipartFile file) {
-        return uploadUserImage(userDetails, file, "ProfileImages", User::setProfileImageUrl);
+    public UserMeResponseDto updateProfileImage(AuthUser principal, MultipartFile file) {
+        return uploadUserImage(principal, file, "ProfileImages", User::setProfileImageUrl);
     }
 
     @Transactional
-    public UserMeResponseDto updateBannerImage(UserDetails userDetails, MultipartFile file) {
-        return uploadUserImage(userDetails, file, "BannerImages", User::setBannerImageUrl);
+    public UserMeResponseDto updateBannerImage(AuthUser principal, MultipartFile file) {
+        return uploadUserImage(principal, file, "BannerImages", User::setBannerImageUrl);
     }
 
-    private UserMeResponseDto uploadUserImage(UserDetails userDetails, MultipartFile file, String folderName, java.util.function.BiConsumer<User, String> imageSetter) {
-        User user = findUserByUsernameOrEmail(userDetails.getUsername());
+    private UserMeResponseDto uploadUserImage(AuthUser principal, MultipartFile file, String folderName, java.util.function.BiConsumer<User, String> imageSetter) {
+        User user = getCurrentUser(principal);
         if (file.isEmpty()) {
             throw new BadCredentialsException("Invalid data provided");
         }
@@ -106,19 +176,22 @@ public class UserService {
 
         imageSetter.accept(user, imageUrl);
         userRepository.save(user);
+        userCache.invalidate(user.getId());
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getId()));
 
         return UserMapper.toUserMeResponse(user);
     }
 
     @Transactional
-    public void changePassword(UserDetails userDetails, ChangePasswordRequestDto request) {
-        User user = findUserByUsernameOrEmail(userDetails.getUsername());
+    public void changePassword(AuthUser principal, ChangePasswordRequestDto request) {
+        User user = getCurrentUser(principal);
 
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
             throw new BadCredentialsException("Incorrect current password.");
         }
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userCache.invalidate(user.getId());
         validTokenService.invalidateAllTokensForUser(user);
         userRepository.save(user);
         String token = jwtService.generateToken(user);
@@ -131,12 +204,13 @@ public class UserService {
     }
 
     @Transactional
-    public void changeEmail(UserDetails userDetails, ChangeEmailRequestDto request) {
-        User user = findUserByUsernameOrEmail(userDetails.getUsername());
+    public void changeEmail(AuthUser principal, ChangeEmailRequestDto request) {
+        User user = getCurrentUser(principal);
         if (Objects.equals(user.getEmail(), request.getEmail())) {
             throw new BadCredentialsException("This email address is already in use.");
         }
         user.setEmail(request.getEmail());
+        userCache.invalidate(user.getId());
         validTokenService.invalidateAllTokensForUser(user);
         userRepository.save(user);
         String token = jwtService.generateToken(user);
@@ -149,89 +223,94 @@ public class UserService {
     }
 
     @Transactional
-    public void deleteUser(UserDetails userDetails) {
-        User user = findUserByUsernameOrEmail(userDetails.getUsername());
+    public void deleteUser(AuthUser principal) {
+        User user = getCurrentUser(principal);
         imageKitService.deleteFolder("/finch/" + user.getUsername());
         userRepository.delete(user);
+        userCache.invalidate(user.getId());
+        eventPublisher.publishEvent(new UserDeletedEvent(user.getId()));
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getFinchesOfUser(String username, UserDetails requester) {
-        User user = findUserByUsernameOrEmail(username);
+    public List<FinchResponseDto> getFinchesOfUser(String username, AuthUser requester) {
+        UserSnapshot user = findSnapshot(username);
         checkPrivateAccess(user, requester);
-        return finchService.getFinchesByUsername(username, requester);
+        return finchService.getFinchesByUsername(user.username(), requester);
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getMyFinches(UserDetails userDetails) {
-        return finchService.getFinchesByUsername(userDetails.getUsername(), userDetails);
+    public List<FinchResponseDto> getMyFinches(AuthUser principal) {
+        return finchService.getFinchesByUsername(principal.getUsername(), principal);
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getFollowers(String username, UserDetails requester) {
-        User user = findUserByUsernameOrEmail(username);
+    public List<UserResponseDto> getFollowers(String username, AuthUser requester) {
+        UserSnapshot user = findSnapshot(username);
         checkPrivateAccess(user, requester);
-        return followService.getFollowers(user);
+        return followService.getFollowers(userRepository.getReferenceById(user.id()));
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getFollowing(String username, UserDetails requester) {
-        User user = findUserByUsernameOrEmail(username);
+    public List<UserResponseDto> getFollowing(String username, AuthUser requester) {
+        UserSnapshot user = findSnapshot(username);
         checkPrivateAccess(user, requester);
-        return followService.getFollowing(user);
+        return followService.getFollowing(userRepository.getReferenceById(user.id()));
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getMyFollowers(UserDetails userDetails) {
-        return getFollowers(userDetails.getUsername(), userDetails);
+    public List<UserResponseDto> getMyFollowers(AuthUser principal) {
+        return getFollowers(principal.getUsername(), principal);
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getMyFollowing(UserDetails userDetails) {
-        return getFollowing(userDetails.getUsername(), userDetails);
+    public List<UserResponseDto> getMyFollowing(AuthUser principal) {
+        return getFollowing(principal.getUsername(), principal);
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getLikedFinchesByUsername(String username, UserDetails requester) {
-        User user = findUserByUsernameOrEmail(username);
+    public List<FinchResponseDto> getLikedFinchesByUsername(String username, AuthUser requester) {
+        UserSnapshot user = findSnapshot(username);
         checkPrivateAccess(user, requester);
-        return finchService.getLikedFinchesByUser(user);
+        return finchService.getLikedFinchesByUser(userRepository.getReferenceById(user.id()));
     }
 
     @Transactional(readOnly = true)
-    public List<FinchResponseDto> getMyLikedFinches(UserDetails userDetails) {
-        return getLikedFinchesByUsername(userDetails.getUsername(), userDetails);
+    public List<FinchResponseDto> getMyLikedFinches(AuthUser principal) {
+        return finchService.getLikedFinchesByUser(getCurrentUser(principal));
     }
 
     @Transactional
-    public void setPrivateUser(UserDetails userDetails) {
-        User user = findUserByUsernameOrEmail(userDetails.getUsername());
+    public void setPrivateUser(AuthUser principal) {
+        User user = getCurrentUser(principal);
         if (user.isPrivate()) throw new ConflictException("User is already private.");
         user.setPrivate(true);
         userRepository.save(user);
+        userCache.invalidate(user.getId());
+        eventPublisher.publishEvent(new UserPrivacyChangedEvent(user.getId(), true));
     }
 
     @Transactional
-    public void setPublicUser(UserDetails userDetails) {
-        User user = findUserByUsernameOrEmail(userDetails.getUsername());
+    public void setPublicUser(AuthUser principal) {
+        User user = getCurrentUser(principal);
         if (!user.isPrivate()) throw new ConflictException("User is already public.");
         user.setPrivate(false);
         userRepository.save(user);
+        userCache.invalidate(user.getId());
+        eventPublisher.publishEvent(new UserPrivacyChangedEvent(user.getId(), false));
     }
 
     @Transactional(readOnly = true)
-    protected void checkPrivateAccess(User targetUser, UserDetails requesterDetails) {
+    protected void checkPrivateAccess(UserSnapshot targetUser, AuthUser requester) {
         if (!targetUser.isPrivate()) return;
 
-        if (requesterDetails == null)
+        if (requester == null)
             throw new ConflictException("This user's profile is private.");
 
-        User requester = findUserByUsernameOrEmail(requesterDetails.getUsername());
-
-        if (targetUser.getId().equals(requester.getId()))
+        if (targetUser.id().equals(requester.getId()))
             return;
 
-        boolean isFollower = followService.isFollowing(requester, targetUser);
+        boolean isFollower = followService.isFollowing(getCurrentUserReference(requester),
+                userRepository.getReferenceById(targetUser.id()));
         if (isFollower)
             return;
 
@@ -0,0 +1,140 @@
+package com.rjhtctn.finch_backend.tag;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fills hashtag and mention postings for finches written before postings existed. {@code TagService.index}
+ * only sees finches as they are created or edited, so without this pass older finches never show up in
+ * tag timelines or mention lists.
+ *
+ * <p>Runs after startup on its own thread, reading only id, content and timestamp of finches that look
+ * tagged but have no postings yet, and commits each batch on its own. Inserts ignore postings that already
+ * exist, so the pass is safe next to live indexing and resumes where an interrupted one stopped.
+ */
+@Slf4j
+@Component
+public class TagBackfill {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String MIN_ID = new UUID(0L, 0L).toString();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tag-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TagBackfill(JdbcTemplate jdbcTemplate,
+                       NamedParameterJdbcTemplate namedJdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${finch.tags.backfill-on-start:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    private record Source(String id, String content, Timestamp createdAt) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) return;
+        runner.execute(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.warn("Tag backfill failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    void backfill() {
+        long started = System.currentTimeMillis();
+        int finches = 0;
+        String after = MIN_ID;
+        List<Source> batch;
+        do {
+            if (Thread.currentThread().isInterrupted()) return;
+            batch = jdbcTemplate.query("""
+                    SELECT f.id, f.content, f.created_at FROM finch f
+                    WHERE f.id > ? AND (f.content LIKE '%#%' OR f.content LIKE '%@%')
+                      AND NOT EXISTS (SELECT 1 FROM finch_tags t WHERE t.finch_id = f.id)
+                      AND NOT EXISTS (SELECT 1 FROM finch_mentions m WHERE m.finch_id = f.id)
+                    ORDER BY f.id
+                    LIMIT ?
+                    """, (rs, rowNum) -> new Source(rs.getString("id"), rs.getString("content"),
+                    rs.getTimestamp("created_at")), after, BATCH_SIZE);
+            if (batch.isEmpty()) break;
+            List<Source> current = batch;
+            transactionTemplate.executeWithoutResult(status -> index(current));
+            finches += batch.size();
+            after = batch.get(batch.size() - 1).id();
+        } while (batch.size() == BATCH_SIZE);
+        if (finches > 0) {
+            log.info("Tag postings filled for {} finches in {} ms.", finches, System.currentTimeMillis() - started);
+        }
+    }
+
+    private void index(List<Source> batch) {
+        List<Object[]> tags = new ArrayList<>();
+        Map<Source, Set<String>> mentions = new HashMap<>();
+        Set<String> usernames = new HashSet<>();
+        for (Source finch : batch) {
+            for (String tag : TagExtractor.hashtags(finch.content())) {
+                tags.add(new Object[]{tag, finch.id(), finch.createdAt()});
+            }
+            Set<String> names = TagExtractor.mentions(finch.content());
+            if (names.isEmpty()) continue;
+            mentions.put(finch, names);
+            usernames.addAll(names);
+        }
+        if (!tags.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO finch_tags (tag, finch_id, created_at) VALUES (?, ?, ?)", tags);
+        }
+        if (usernames.isEmpty()) return;
+
+        Map<String, String> userIds = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, username FROM `user` WHERE username IN (:usernames)",
+                new MapSqlParameterSource("usernames", usernames),
+                rs -> {
+                    userIds.put(rs.getString("username").toLowerCase(Locale.ROOT), rs.getString("id"));
+                });
+        List<Object[]> rows = new ArrayList<>();
+        mentions.forEach((finch, names) -> {
+            Set<String> users = new HashSet<>();
+            for (String name : names) {
+                String userId = userIds.get(name.toLowerCase(Locale.ROOT));
+                if (userId != null && users.add(userId)) rows.add(new Object[]{userId, finch.id(), finch.createdAt()});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO finch_mentions (user_id, finch_id, created_at) VALUES (?, ?, ?)", rows);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.rjhtctn.finch_backend.tag;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls {@code #hashtags} and {@code @mentions} out of finch content. Hashtags are returned normalized
+ * (NFKC, lower case) and must contain a letter; mentions are returned as written, without the {@code @}.
+ */
+public final class TagExtractor {
+
+    public static final int MAX_TAG_LENGTH = 100;
+
+    private static final Pattern HASHTAG =
+            Pattern.compile("(?<![\\p{L}\\p{N}_#&])#([\\p{L}\\p{N}_]*\\p{L}[\\p{L}\\p{N}_]*)");
+    private static final Pattern MENTION =
+            Pattern.compile("(?<![\\p{L}\\p{N}_@.])@([A-Za-z0-9_.]{3,30})");
+
+    private TagExtractor() {
+    }
+
+    public static Set<String> hashtags(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (content == null) return tags;
+        Matcher matcher = HASHTAG.matcher(content);
+        while (matcher.find()) {
+            String tag = normalize(matcher.group(1));
+            if (tag.length() <= MAX_TAG_LENGTH) tags.add(tag);
+        }
+        return tags;
+    }
+
+    public static Set<String> mentions(String content) {
+        Set<String> usernames = new LinkedHashSet<>();
+        if (content == null) return usernames;
+        Matcher matcher = MENTION.matcher(content);
+        while (matcher.find()) {
+            String username = matcher.group(1);
+            while (username.endsWith(".")) username = username.substring(0, username.length() - 1);
+            if (username.length() >= 3) usernames.add(username);
+        }
+        return usernames;
+    }
+
+    public static String normalize(String tag) {
+        String stripped = tag.startsWith("#") ? tag.substring(1) : tag;
+        return Normalizer.normalize(stripped, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package com.rjhtctn.finch_backend.task;
+
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.service.EngagementCounterService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+public class EngagementCounterReconciliationTask {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final FinchRepository finchRepository;
+    private final EngagementCounterService engagementCounterService;
+    private final boolean reconcileOnStart;
+    private final ExecutorService startupRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "counter-reconcile-startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EngagementCounterReconciliationTask(FinchRepository finchRepository,
+                                               EngagementCounterService engagementCounterService,
+                                               @Value("${finch.counters.reconcile-on-start:true}") boolean reconcileOnStart) {
+        this.finchRepository = finchRepository;
+        this.engagementCounterService = engagementCounterService;
+        this.reconcileOnStart = reconcileOnStart;
+    }
+
+    /**
+     * Backfills the denormalized counters after startup, in the background. Rows created before the counter
+     * columns existed read 0 until then; on an up-to-date table the pass corrects nothing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStart) startupRunner.execute(this::reconcileCounters);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        startupRunner.shutdownNow();
+    }
+
+    @Scheduled(cron = "0 30 4 * * ?")
+    public void reconcileCounters() {
+        log.info("Starting engagement counter reconciliation task...");
+        UUID after = new UUID(0L, 0L);
+        int scanned = 0;
+        int corrected = 0;
+
+        List<UUID> batch;
+        do {
+            batch = finchRepository.findIdsAfter(after, PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) break;
+            corrected += engagementCounterService.reconcile(batch);
+            scanned += batch.size();
+            after = batch.get(batch.size() - 1);
+        } while (batch.size() == BATCH_SIZE);
+
+        log.info("Engagement counter reconciliation finished. Scanned: {}, corrected: {}", scanned, corrected);
+    }
+}
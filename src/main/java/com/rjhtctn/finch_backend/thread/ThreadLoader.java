@@ -0,0 +1,105 @@
+package com.rjhtctn.finch_backend.thread;
+
+import com.rjhtctn.finch_backend.dto.finch.FinchResponseDto;
+import com.rjhtctn.finch_backend.dto.finch.ReplyCursor;
+import com.rjhtctn.finch_backend.mapper.FinchMapper;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.ReplyRef;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a conversation tree with a bounded number of queries regardless of its size: the ids down to the
+ * requested depth, then the finches with their authors and their images. The tree is assembled in
+ * memory, replies oldest first. Replies by authors the viewer may not see are left out together with
+ * their subtrees, as in {@code GET /api/finch/{id}/replies}.
+ *
+ * <p>With a fan-out only the first replies of each node are read, one query per level, and a node whose
+ * replies were cut off carries a cursor for {@code GET /api/finch/{id}/replies}. A fan-out of {@code 0}
+ * reads the subtree in one recursive query instead. Either way the tree stops at {@link #MAX_NODES}: the
+ * fan-out walk stops before the level that would cross it, the recursive query cuts off breadth first.
+ */
+@Component
+public class ThreadLoader {
+
+    public static final int MAX_DEPTH = 10;
+    public static final int MAX_FANOUT = 50;
+    public static final int MAX_NODES = 500;
+
+    private static final Comparator<Finch> OLDEST_FIRST =
+            Comparator.comparing(Finch::getCreatedAt).thenComparing(Finch::getId);
+
+    private final FinchRepository finchRepository;
+
+    public ThreadLoader(FinchRepository finchRepository) {
+        this.finchRepository = finchRepository;
+    }
+
+    /** @param fanout replies kept per node, or {@code 0} for all of them up to {@link #MAX_NODES} */
+    @Transactional(readOnly = true)
+    public FinchResponseDto load(Finch root, UUID viewerId, int depth, int fanout) {
+        int levels = Math.max(0, Math.min(depth, MAX_DEPTH));
+        int limit = Math.max(0, Math.min(fanout, MAX_FANOUT));
+        Set<UUID> truncated = new HashSet<>();
+        List<UUID> ids = limit > 0 ? findFannedOutIds(root.getId(), viewerId, levels, limit, truncated)
+                : finchRepository.findThreadIds(root.getId().toString(), viewerId.toString(), levels, MAX_NODES)
+                .stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toList());
+        if (ids.size() <= 1) return FinchMapper.toFinchResponseWithoutReplies(root);
+
+        List<Finch> finches = finchRepository.findAllWithUserByIdIn(ids);
+        // initializes the image collections of the instances loaded above
+        finchRepository.findAllWithImagesByIdIn(ids);
+
+        Map<UUID, List<Finch>> children = new HashMap<>();
+        for (Finch finch : finches) {
+            if (finch.getId().equals(root.getId()) || finch.getParentFinch() == null) continue;
+            children.computeIfAbsent(finch.getParentFinch().getId(), id -> new ArrayList<>()).add(finch);
+        }
+        return assemble(root, children, truncated);
+    }
+
+    /**
+     * Reads one reply more than the fan-out per node; a node that has it goes into {@code truncated} and
+     * the extra reply is dropped.
+     */
+    private List<UUID> findFannedOutIds(UUID rootId, UUID viewerId, int levels, int fanout, Set<UUID> truncated) {
+        List<UUID> ids = new ArrayList<>(List.of(rootId));
+        List<String> level = List.of(rootId.toString());
+        for (int i = 0; i < levels && !level.isEmpty(); i++) {
+            List<ReplyRef> replies = finchRepository.findFirstReplies(level, viewerId.toString(), fanout + 1);
+            List<String> next = new ArrayList<>();
+            Set<UUID> cut = new HashSet<>();
+            for (ReplyRef reply : replies) {
+                if (reply.getPosition() > fanout) cut.add(UUID.fromString(reply.getParentId()));
+                else next.add(reply.getId());
+            }
+            if (ids.size() + next.size() > MAX_NODES) break;
+
+            truncated.addAll(cut);
+            next.forEach(id -> ids.add(UUID.fromString(id)));
+            level = next;
+        }
+        return ids;
+    }
+
+    private static FinchResponseDto assemble(Finch finch, Map<UUID, List<Finch>> children, Set<UUID> truncated) {
+        FinchResponseDto dto = FinchMapper.toFinchResponseWithoutReplies(finch);
+        List<Finch> replies = children.get(finch.getId());
+        if (replies == null) return dto;
+
+        replies.sort(OLDEST_FIRST);
+        dto.setReplies(replies.stream()
+                .map(reply -> assemble(reply, children, truncated))
+                .collect(Collectors.toList()));
+        if (truncated.contains(finch.getId())) {
+            Finch last = replies.get(replies.size() - 1);
+            dto.setRepliesCursor(ReplyCursor.after(last.getCreatedAt(), last.getId()).encode());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,95 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import com.rjhtctn.finch_backend.event.*;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap version stamps for feed validators. {@code global} moves on every committed change that can alter
+ * what some viewer sees in the global feed; {@code edits} only on content edits, which no timeline
+ * version covers; {@code profiles} on author profile changes. ETags carry the process start time so stamps
+ * from a previous run never match.
+ * <p>
+ * The tags are weak: engagement counters change too often to stamp, so a 304 may hand back a page whose
+ * like/reply/repost counts are stale. Clients pick those up with the next changed page or a full reload.
+ */
+@Component
+public class FeedVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong edits = new AtomicLong();
+    private final AtomicLong profiles = new AtomicLong();
+
+    public long global() {
+        return global.get();
+    }
+
+    public long edits() {
+        return edits.get();
+    }
+
+    public long profiles() {
+        return profiles.get();
+    }
+
+    /** Weak tag over the stamps; {@code variant} separates requests for different slices of the same feed. */
+    public String etag(String variant, long... stamps) {
+        StringBuilder tag = new StringBuilder("W/\"").append(Long.toString(epoch, 36))
+                .append('-').append(Integer.toString(variant.hashCode(), 36));
+        for (long stamp : stamps) tag.append('-').append(Long.toString(stamp, 36));
+        return tag.append('"').toString();
+    }
+
+    @TransactionalEventListener
+    public void onFinchCreated(FinchCreatedEvent event) {
+        if (event.isRoot()) global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onFinchUpdated(FinchUpdatedEvent event) {
+        edits.incrementAndGet();
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onFinchDeleted(FinchDeletedEvent event) {
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onRepostCreated(RepostCreatedEvent event) {
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onRepostRemoved(RepostRemovedEvent event) {
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onFollowCreated(FollowCreatedEvent event) {
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onFollowRemoved(FollowRemovedEvent event) {
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onUserPrivacyChanged(UserPrivacyChangedEvent event) {
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        profiles.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        global.incrementAndGet();
+    }
+}
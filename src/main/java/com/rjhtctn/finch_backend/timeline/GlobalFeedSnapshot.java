@@ -0,0 +1,108 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import com.rjhtctn.finch_backend.dto.feed.FeedCursor;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.ReFinch;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.RefinchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Newest slice of the public part of the global feed: root finches of public authors and reposts where both
+ * the reposter and the original author are public. The slice is rebuilt on a fixed delay and published as
+ * one immutable array, so every viewer reads the same snapshot without touching the database and only the
+ * private content they may see is queried per request.
+ */
+@Slf4j
+@Component
+public class GlobalFeedSnapshot {
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST =
+            Comparator.comparing(TimelineEntry::cursor, FeedCursor.NEWEST_FIRST);
+
+    private final FinchRepository finchRepository;
+    private final RefinchRepository refinchRepository;
+    private final int capacity;
+    private volatile Slice slice;
+
+    public GlobalFeedSnapshot(FinchRepository finchRepository,
+                              RefinchRepository refinchRepository,
+                              @Value("${finch.global-feed.capacity:2000}") int capacity) {
+        this.finchRepository = finchRepository;
+        this.refinchRepository = refinchRepository;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns up to {@code count} public entries strictly after the cursor, or null when the snapshot is not
+     * built yet or does not reach far enough back to answer the read exactly.
+     */
+    public List<TimelineEntry> read(FeedCursor after, int count) {
+        Slice current = slice;
+        return current == null ? null : current.read(after, count);
+    }
+
+    /** Moves only when a refresh actually changed the snapshot. */
+    public long version() {
+        Slice current = slice;
+        return current == null ? 0 : current.version();
+    }
+
+    @Scheduled(fixedDelayString = "${finch.global-feed.refresh-ms:5000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        PageRequest window = PageRequest.of(0, capacity);
+        FeedCursor start = FeedCursor.START;
+
+        List<Finch> finches = finchRepository.findPublicFeedPage(
+                LocalDateTime.ofInstant(start.createdAt(), ZoneId.systemDefault()), start.finchTieBreaker(), window);
+        List<ReFinch> reposts = refinchRepository.findPublicFeedPage(
+                start.createdAt(), start.repostTieBreaker(), window);
+
+        List<TimelineEntry> entries = new ArrayList<>(finches.size() + reposts.size());
+        finches.forEach(finch -> entries.add(TimelineEntry.of(finch)));
+        reposts.forEach(repost -> entries.add(TimelineEntry.of(repost)));
+        entries.sort(NEWEST_FIRST);
+
+        boolean complete = finches.size() < capacity && reposts.size() < capacity;
+        int size = complete ? entries.size() : Math.min(entries.size(), capacity);
+        TimelineEntry[] refreshed = entries.subList(0, size).toArray(new TimelineEntry[0]);
+
+        Slice previous = slice;
+        if (previous != null && previous.complete() == complete && Arrays.equals(previous.entries(), refreshed)) return;
+        slice = new Slice(refreshed, complete, previous == null ? 1 : previous.version() + 1);
+        log.debug("Global feed snapshot refreshed with {} entries.", size);
+    }
+
+    private record Slice(TimelineEntry[] entries, boolean complete, long version) {
+
+        List<TimelineEntry> read(FeedCursor after, int count) {
+            int from = firstAfter(after);
+            int to = Math.min(entries.length, from + count);
+            if (to - from < count && !complete) return null;
+            return Arrays.asList(entries).subList(from, to);
+        }
+
+        private int firstAfter(FeedCursor after) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (FeedCursor.NEWEST_FIRST.compare(entries[mid].cursor(), after) <= 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import com.rjhtctn.finch_backend.dto.feed.FeedCursor;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Materialized home timeline of a single user, kept newest-first in the same order as {@link FeedCursor#NEWEST_FIRST}.
+ * Entries live in parallel primitive arrays and the timeline always holds an exact prefix of the full timeline;
+ * once the capacity is exceeded the oldest entries fall off and reads past them must go to the database.
+ * <p>
+ * A timeline starts unloaded. Fan-out events that arrive while it is being loaded are buffered in place and
+ * removals are remembered as tombstones, so {@link #fill} can merge the database snapshot without losing them.
+ */
+public class HomeTimeline {
+
+    private static final long NO_REPOST = 0L;
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final int capacity;
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final long[] micros;
+    private final long[] finchHi;
+    private final long[] finchLo;
+    private final long[] actorHi;
+    private final long[] actorLo;
+    private final long[] repostIds;
+    private int size;
+
+    private boolean loaded;
+    private boolean complete;
+    private long version;
+    private volatile long lastAccess = System.nanoTime();
+
+    private final Set<UUID> removedFinches = new HashSet<>();
+    private final Set<UUID> removedActors = new HashSet<>();
+    private final Set<Long> removedReposts = new HashSet<>();
+
+    public HomeTimeline(int capacity) {
+        this.capacity = capacity;
+        this.micros = new long[capacity];
+        this.finchHi = new long[capacity];
+        this.finchLo = new long[capacity];
+        this.actorHi = new long[capacity];
+        this.actorLo = new long[capacity];
+        this.repostIds = new long[capacity];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Distinguishes this instance from earlier timelines of the same user, whose versions restart at zero. */
+    public long generation() {
+        return generation;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    public synchronized void fill(List<TimelineEntry> entries, boolean completeHistory) {
+        if (loaded) return;
+        complete = completeHistory;
+        for (TimelineEntry entry : entries) {
+            if (removedFinches.contains(entry.finchId()) || removedActors.contains(entry.actorId())) continue;
+            if (entry.isRepost() && removedReposts.contains(entry.repostId())) continue;
+            insert(entry);
+        }
+        removedFinches.clear();
+        removedActors.clear();
+        removedReposts.clear();
+        loaded = true;
+        version++;
+    }
+
+    public synchronized void add(TimelineEntry entry) {
+        if (insert(entry)) version++;
+    }
+
+    /**
+     * Returns up to {@code count} entries strictly older than {@code after}, or {@code null} when the
+     * timeline cannot answer the range on its own and the caller has to read the database.
+     */
+    public synchronized List<TimelineEntry> read(FeedCursor after, int count) {
+        if (!loaded) return null;
+        int from = upperBound(after);
+        int to = Math.min(size, from + count);
+        if (to - from < count && !complete) return null;
+
+        List<TimelineEntry> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(entryAt(i));
+        }
+        return page;
+    }
+
+    public synchronized void removeFinch(UUID finchId) {
+        if (!loaded) removedFinches.add(finchId);
+        long hi = finchId.getMostSignificantBits();
+        long lo = finchId.getLeastSignificantBits();
+        removeIf(i -> finchHi[i] == hi && finchLo[i] == lo);
+    }
+
+    public synchronized void removeActor(UUID actorId) {
+        if (!loaded) removedActors.add(actorId);
+        long hi = actorId.getMostSignificantBits();
+        long lo = actorId.getLeastSignificantBits();
+        removeIf(i -> actorHi[i] == hi && actorLo[i] == lo);
+    }
+
+    public synchronized void removeRepost(long repostId) {
+        if (!loaded) removedReposts.add(repostId);
+        removeIf(i -> repostIds[i] == repostId);
+    }
+
+    private boolean insert(TimelineEntry entry) {
+        long m = toMicros(entry.createdAt());
+        long hi = entry.finchId().getMostSignificantBits();
+        long lo = entry.finchId().getLeastSignificantBits();
+        long repostId = entry.isRepost() ? entry.repostId() : NO_REPOST;
+
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareAt(mid, m, hi, lo, repostId);
+            if (cmp == 0) return false;
+            if (cmp < 0) low = mid + 1;
+            else high = mid;
+        }
+
+        if (low >= capacity) {
+            complete = false;
+            return false;
+        }
+
+        int tail = Math.min(size, capacity - 1) - low;
+        if (tail > 0) {
+            System.arraycopy(micros, low, micros, low + 1, tail);
+            System.arraycopy(finchHi, low, finchHi, low + 1, tail);
+            System.arraycopy(finchLo, low, finchLo, low + 1, tail);
+            System.arraycopy(actorHi, low, actorHi, low + 1, tail);
+            System.arraycopy(actorLo, low, actorLo, low + 1, tail);
+            System.arraycopy(repostIds, low, repostIds, low + 1, tail);
+        }
+        if (size == capacity) {
+            complete = false;
+        } else {
+            size++;
+        }
+
+        micros[low] = m;
+        finchHi[low] = hi;
+        finchLo[low] = lo;
+        actorHi[low] = entry.actorId().getMostSignificantBits();
+        actorLo[low] = entry.actorId().getLeastSignificantBits();
+        repostIds[low] = repostId;
+        return true;
+    }
+
+    private int upperBound(FeedCursor after) {
+        long m = toMicros(after.createdAt());
+        long hi;
+        long lo;
+        long repostId;
+        if (after.kind() == FeedCursor.Kind.REPOST) {
+            hi = 0L;
+            lo = 0L;
+            repostId = after.repostTieBreaker();
+        } else {
+            UUID id = after.finchTieBreaker();
+            hi = id.getMostSignificantBits();
+            lo = id.getLeastSignificantBits();
+            repostId = NO_REPOST;
+        }
+
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, m, hi, lo, repostId) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Negative when slot {@code i} sorts before the given key, positive when it sorts after it.
+     */
+    private int compareAt(int i, long m, long hi, long lo, long repostId) {
+        if (micros[i] != m) return micros[i] > m ? -1 : 1;
+        boolean slotIsRepost = repostIds[i] != NO_REPOST;
+        boolean keyIsRepost = repostId != NO_REPOST;
+        if (slotIsRepost != keyIsRepost) return slotIsRepost ? 1 : -1;
+        if (slotIsRepost) return Long.compare(repostId, repostIds[i]);
+        int byHi = Long.compareUnsigned(hi, finchHi[i]);
+        return byHi != 0 ? byHi : Long.compareUnsigned(lo, finchLo[i]);
+    }
+
+    private void removeIf(java.util.function.IntPredicate match) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (match.test(i)) continue;
+            if (kept != i) {
+                micros[kept] = micros[i];
+                finchHi[kept] = finchHi[i];
+                finchLo[kept] = finchLo[i];
+                actorHi[kept] = actorHi[i];
+                actorLo[kept] = actorLo[i];
+                repostIds[kept] = repostIds[i];
+            }
+            kept++;
+        }
+        if (kept != size) {
+            size = kept;
+            version++;
+        }
+    }
+
+    private TimelineEntry entryAt(int i) {
+        return new TimelineEntry(
+                new UUID(finchHi[i], finchLo[i]),
+                new UUID(actorHi[i], actorLo[i]),
+                repostIds[i] == NO_REPOST ? null : repostIds[i],
+                Instant.ofEpochSecond(Math.floorDiv(micros[i], 1_000_000L), Math.floorMod(micros[i], 1_000_000L) * 1_000L));
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000L;
+    }
+}
@@ -0,0 +1,79 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import com.rjhtctn.finch_backend.event.*;
+import com.rjhtctn.finch_backend.service.FollowService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class HomeTimelineFanout {
+
+    private final HomeTimelineStore timelineStore;
+    private final FollowService followService;
+
+    public HomeTimelineFanout(HomeTimelineStore timelineStore, FollowService followService) {
+        this.timelineStore = timelineStore;
+        this.followService = followService;
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onFinchCreated(FinchCreatedEvent event) {
+        if (!event.isRoot() || timelineStore.isEmpty()) return;
+        TimelineEntry entry = new TimelineEntry(event.finchId(), event.authorId(), null, event.createdAt());
+        timelineStore.appendIfResident(audienceOf(event.authorId()), entry);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRepostCreated(RepostCreatedEvent event) {
+        if (timelineStore.isEmpty()) return;
+        TimelineEntry entry = new TimelineEntry(event.finchId(), event.userId(), event.repostId(), event.createdAt());
+        timelineStore.appendIfResident(audienceOf(event.userId()), entry);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRepostRemoved(RepostRemovedEvent event) {
+        if (timelineStore.isEmpty()) return;
+        timelineStore.removeRepostIfResident(audienceOf(event.userId()), event.repostId());
+    }
+
+    /**
+     * A finch only reaches the timelines of its author's audience and of its reposters' audiences, and
+     * follow changes invalidate or prune the rest, so those are the only timelines that can hold it.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onFinchDeleted(FinchDeletedEvent event) {
+        if (timelineStore.isEmpty()) return;
+        Set<UUID> owners = new HashSet<>(audienceOf(event.authorId()));
+        for (UUID reposterId : event.reposterIds()) {
+            owners.addAll(audienceOf(reposterId));
+        }
+        timelineStore.removeFinchIfResident(owners, event.finchId());
+    }
+
+    @TransactionalEventListener
+    public void onFollowCreated(FollowCreatedEvent event) {
+        timelineStore.invalidate(event.followerId());
+    }
+
+    @TransactionalEventListener
+    public void onFollowRemoved(FollowRemovedEvent event) {
+        timelineStore.removeActor(event.followerId(), event.followingId());
+    }
+
+    private List<UUID> audienceOf(UUID actorId) {
+        List<UUID> audience = new ArrayList<>(followService.getFollowerIds(actorId));
+        audience.add(actorId);
+        return audience;
+    }
+}
@@ -0,0 +1,86 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of materialized home timelines. Only users who have read their following feed
+ * recently are resident; everyone else is rebuilt from the database on their next read, so fan-out work
+ * stays proportional to active followers rather than to all followers. The least recently read timelines
+ * are evicted by a scheduled pass, so the resident count may briefly exceed its limit between runs.
+ */
+@Component
+public class HomeTimelineStore {
+
+    private final int capacity;
+    private final int maxResident;
+    private final Map<UUID, HomeTimeline> timelines = new ConcurrentHashMap<>();
+
+    public HomeTimelineStore(@Value("${finch.timeline.capacity:800}") int capacity,
+                             @Value("${finch.timeline.max-resident:100000}") int maxResident) {
+        this.capacity = capacity;
+        this.maxResident = maxResident;
+    }
+
+    public HomeTimeline timelineFor(UUID ownerId) {
+        HomeTimeline timeline = timelines.get(ownerId);
+        if (timeline == null) {
+            timeline = timelines.computeIfAbsent(ownerId, id -> new HomeTimeline(capacity));
+        }
+        timeline.touch();
+        return timeline;
+    }
+
+    public boolean isEmpty() {
+        return timelines.isEmpty();
+    }
+
+    public void appendIfResident(Collection<UUID> ownerIds, TimelineEntry entry) {
+        for (UUID ownerId : ownerIds) {
+            HomeTimeline timeline = timelines.get(ownerId);
+            if (timeline != null) timeline.add(entry);
+        }
+    }
+
+    public void removeRepostIfResident(Collection<UUID> ownerIds, long repostId) {
+        for (UUID ownerId : ownerIds) {
+            HomeTimeline timeline = timelines.get(ownerId);
+            if (timeline != null) timeline.removeRepost(repostId);
+        }
+    }
+
+    public void removeActor(UUID ownerId, UUID actorId) {
+        HomeTimeline timeline = timelines.get(ownerId);
+        if (timeline != null) timeline.removeActor(actorId);
+    }
+
+    public void removeFinchIfResident(Collection<UUID> ownerIds, UUID finchId) {
+        for (UUID ownerId : ownerIds) {
+            HomeTimeline timeline = timelines.get(ownerId);
+            if (timeline != null) timeline.removeFinch(finchId);
+        }
+    }
+
+    public void invalidate(UUID ownerId) {
+        timelines.remove(ownerId);
+    }
+
+    @Scheduled(fixedDelayString = "${finch.timeline.evict-interval-ms:10000}")
+    public void evictIdle() {
+        int excess = timelines.size() - maxResident;
+        if (excess <= 0) return;
+        int toEvict = excess + maxResident / 10;
+        timelines.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess()))
+                .limit(toEvict)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(timelines::remove);
+    }
+}
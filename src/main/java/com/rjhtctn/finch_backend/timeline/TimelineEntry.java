@@ -0,0 +1,35 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import com.rjhtctn.finch_backend.dto.feed.FeedCursor;
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.ReFinch;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * One home timeline slot: a root finch posted by {@code actorId}, or a repost of it by {@code actorId}
+ * when {@code repostId} is set.
+ */
+public record TimelineEntry(UUID finchId, UUID actorId, Long repostId, Instant createdAt) {
+
+    public static TimelineEntry of(Finch finch) {
+        return new TimelineEntry(finch.getId(), finch.getUser().getId(), null,
+                finch.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    public static TimelineEntry of(ReFinch repost) {
+        return new TimelineEntry(repost.getFinch().getId(), repost.getUser().getId(), repost.getId(),
+                repost.getCreatedAt());
+    }
+
+    public boolean isRepost() {
+        return repostId != null;
+    }
+
+    public FeedCursor cursor() {
+        return isRepost()
+                ? FeedCursor.ofRepost(createdAt, repostId)
+                : FeedCursor.ofFinch(createdAt, finchId);
+    }
+}
@@ -0,0 +1,178 @@
+package com.rjhtctn.finch_backend.trending;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Approximate heavy hitters over a sliding time window in constant memory.
+ *
+ * <p>The window is split into {@code buckets} time slices, each with its own count-min sketch. A running
+ * window sketch holds the sum of all slices; when a slice expires its counts are subtracted and it is
+ * reused. Next to the sketches a bounded candidate set keeps the keys with the highest estimates, so the
+ * top entries can be read without walking any keys that are not already candidates.
+ *
+ * <p>Time comes from the given {@link Clock}, so tests drive the window deterministically.
+ */
+public final class TrendingCounter<K> {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int buckets;
+    private final int depth;
+    private final int widthMask;
+    private final int capacity;
+    private final ToLongFunction<K> hasher;
+
+    private final int[][] slices;
+    private final long[] window;
+    private long currentBucket;
+
+    private final Map<K, Candidate<K>> candidates = new HashMap<>();
+    private final TreeSet<Candidate<K>> ranking = new TreeSet<>(
+            Comparator.<Candidate<K>>comparingLong(c -> c.score).reversed().thenComparingLong(c -> c.seq));
+    private long seq;
+
+    /**
+     * @param width sketch row width, rounded up to a power of two
+     * @param capacity number of candidate keys tracked for the top list
+     */
+    public TrendingCounter(Clock clock, long bucketMillis, int buckets, int depth, int width, int capacity,
+                           ToLongFunction<K> hasher) {
+        if (bucketMillis <= 0 || buckets <= 0 || depth <= 0 || width <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Trending counter dimensions must be positive.");
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.clock = clock;
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.capacity = capacity;
+        this.hasher = hasher;
+        this.slices = new int[buckets][depth * roundedWidth];
+        this.window = new long[depth * roundedWidth];
+        this.currentBucket = bucketOf(clock.millis());
+    }
+
+    public synchronized void add(K key, int weight) {
+        if (weight <= 0) return;
+        advance();
+
+        long hash = hasher.applyAsLong(key);
+        int[] slice = slices[(int) Math.floorMod(currentBucket, (long) buckets)];
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(hash, row);
+            slice[cell] += weight;
+            window[cell] += weight;
+            estimate = Math.min(estimate, window[cell]);
+        }
+        offer(key, estimate);
+    }
+
+    /** The {@code limit} keys with the highest estimated weight in the current window, heaviest first. */
+    public synchronized List<Entry<K>> top(int limit) {
+        advance();
+        List<Entry<K>> result = new ArrayList<>(Math.min(limit, ranking.size()));
+        for (Candidate<K> candidate : ranking) {
+            if (result.size() == limit) break;
+            result.add(new Entry<>(candidate.key, candidate.score));
+        }
+        return result;
+    }
+
+    public synchronized long estimate(K key) {
+        advance();
+        return estimate(hasher.applyAsLong(key));
+    }
+
+    /** Drops matching keys from the top list. Their sketch counts age out with the window. */
+    public synchronized void removeIf(Predicate<K> filter) {
+        candidates.values().removeIf(candidate -> {
+            if (!filter.test(candidate.key)) return false;
+            ranking.remove(candidate);
+            return true;
+        });
+    }
+
+    private void offer(K key, long estimate) {
+        Candidate<K> existing = candidates.get(key);
+        if (existing != null) {
+            ranking.remove(existing);
+            existing.score = estimate;
+            ranking.add(existing);
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            Candidate<K> weakest = ranking.last();
+            if (weakest.score >= estimate) return;
+            ranking.pollLast();
+            candidates.remove(weakest.key);
+        }
+        Candidate<K> candidate = new Candidate<>(key, estimate, seq++);
+        candidates.put(key, candidate);
+        ranking.add(candidate);
+    }
+
+    /** Expires the slices that fell out of the window and rescores the candidates against what is left. */
+    private void advance() {
+        long bucket = bucketOf(clock.millis());
+        if (bucket <= currentBucket) return;
+
+        long steps = Math.min(bucket - currentBucket, buckets);
+        for (long i = 1; i <= steps; i++) {
+            int[] slice = slices[(int) Math.floorMod(currentBucket + i, (long) buckets)];
+            for (int cell = 0; cell < slice.length; cell++) {
+                window[cell] -= slice[cell];
+                slice[cell] = 0;
+            }
+        }
+        currentBucket = bucket;
+
+        ranking.clear();
+        candidates.values().removeIf(candidate -> {
+            candidate.score = estimate(hasher.applyAsLong(candidate.key));
+            return candidate.score <= 0;
+        });
+        ranking.addAll(candidates.values());
+    }
+
+    private long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, window[cell(hash, row)]);
+        }
+        return estimate;
+    }
+
+    private int cell(long hash, int row) {
+        long h = hash + (row + 1) * GOLDEN;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return row * (widthMask + 1) + (int) (h & widthMask);
+    }
+
+    private long bucketOf(long millis) {
+        return Math.floorDiv(millis, bucketMillis);
+    }
+
+    public record Entry<K>(K key, long score) {
+    }
+
+    private static final class Candidate<K> {
+        private final K key;
+        private final long seq;
+        private long score;
+
+        private Candidate(K key, long score, long seq) {
+            this.key = key;
+            this.score = score;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.rjhtctn.finch_backend.trending;
+
+import com.rjhtctn.finch_backend.event.FinchDeletedEvent;
+import com.rjhtctn.finch_backend.event.FinchEngagedEvent;
+import com.rjhtctn.finch_backend.event.UserDeletedEvent;
+import com.rjhtctn.finch_backend.event.UserPrivacyChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Trending finches over the last hour and the last day, fed by engagement events after commit and read
+ * entirely from memory. Finches by private authors are never counted.
+ */
+@Component
+public class TrendingTracker {
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private final TrendingCounter<TrendingFinch> lastHour;
+    private final TrendingCounter<TrendingFinch> lastDay;
+
+    @Autowired
+    public TrendingTracker(@Value("${finch.trending.sketch-width:2048}") int sketchWidth,
+                           @Value("${finch.trending.capacity:200}") int capacity) {
+        this(Clock.systemUTC(), sketchWidth, capacity);
+    }
+
+    public TrendingTracker(Clock clock, int sketchWidth, int capacity) {
+        this.lastHour = new TrendingCounter<>(clock, Duration.ofMinutes(1).toMillis(), 60,
+                SKETCH_DEPTH, sketchWidth, capacity, TrendingTracker::hash);
+        this.lastDay = new TrendingCounter<>(clock, Duration.ofHours(1).toMillis(), 24,
+                SKETCH_DEPTH, sketchWidth, capacity, TrendingTracker::hash);
+    }
+
+    public record TrendingFinch(UUID finchId, UUID authorId) {
+    }
+
+    public List<TrendingCounter.Entry<TrendingFinch>> top(TrendingWindow window, int limit) {
+        return counter(window).top(limit);
+    }
+
+    public void record(UUID finchId, UUID authorId, FinchEngagedEvent.Kind kind) {
+        TrendingFinch key = new TrendingFinch(finchId, authorId);
+        int weight = weight(kind);
+        lastHour.add(key, weight);
+        lastDay.add(key, weight);
+    }
+
+    @TransactionalEventListener
+    public void onFinchEngaged(FinchEngagedEvent event) {
+        if (event.authorPrivate()) return;
+        record(event.finchId(), event.authorId(), event.kind());
+    }
+
+    @TransactionalEventListener
+    public void onFinchDeleted(FinchDeletedEvent event) {
+        remove(key -> key.finchId().equals(event.finchId()));
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        remove(key -> key.authorId().equals(event.userId()));
+    }
+
+    @TransactionalEventListener
+    public void onUserPrivacyChanged(UserPrivacyChangedEvent event) {
+        if (event.isPrivate()) remove(key -> key.authorId().equals(event.userId()));
+    }
+
+    private void remove(Predicate<TrendingFinch> filter) {
+        lastHour.removeIf(filter);
+        lastDay.removeIf(filter);
+    }
+
+    private TrendingCounter<TrendingFinch> counter(TrendingWindow window) {
+        return window == TrendingWindow.DAY ? lastDay : lastHour;
+    }
+
+    private static int weight(FinchEngagedEvent.Kind kind) {
+        return switch (kind) {
+            case LIKE -> 1;
+            case REPLY -> 2;
+            case REPOST, QUOTE -> 3;
+        };
+    }
+
+    private static long hash(TrendingFinch key) {
+        return key.finchId().getMostSignificantBits() * 31 + key.finchId().getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,12 @@
+package com.rjhtctn.finch_backend.trending;
+
+public enum TrendingWindow {
+    HOUR, DAY;
+
+    public static TrendingWindow parse(String value) {
+        for (TrendingWindow window : values()) {
+            if (window.name().equalsIgnoreCase(value)) return window;
+        }
+        throw new IllegalArgumentException("Unknown trending window: " + value);
+    }
+}
@@ -0,0 +1,61 @@
+package com.rjhtctn.finch_backend.cache;
+
+import com.rjhtctn.finch_backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private final LocalUserCacheInvalidationBus bus = new LocalUserCacheInvalidationBus();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final UserCache node = new UserCache(bus, registry, 100, 600);
+    private final UserCache otherNode = new UserCache(bus, new SimpleMeterRegistry(), 100, 600);
+
+    @Test
+    void findsCachedUserByIdUsernameAndEmail() {
+        User user = user("finchfan", "fan@example.com");
+        node.put(user);
+
+        assertEquals("finchfan", node.get(user.getId()).username());
+        assertEquals(user.getId(), node.idOf("FinchFan"));
+        assertEquals(user.getId(), node.idOf("fan@example.com"));
+    }
+
+    @Test
+    void invalidationReachesEveryNodeOnTheBus() {
+        User user = user("finchfan", "fan@example.com");
+        node.put(user);
+        otherNode.put(user);
+
+        node.invalidate(user.getId());
+
+        assertNull(node.get(user.getId()));
+        assertNull(otherNode.get(user.getId()));
+        assertNull(otherNode.idOf("fan@example.com"));
+    }
+
+    @Test
+    void recordsHitsAndMisses() {
+        User user = user("finchfan", "fan@example.com");
+        node.get(user.getId());
+        node.put(user);
+        node.get(user.getId());
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private static User user(String username, String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rjhtctn.finch_backend.push;
+
+import com.rjhtctn.finch_backend.event.FinchCreatedEvent;
+import com.rjhtctn.finch_backend.graph.FollowGraph;
+import com.rjhtctn.finch_backend.service.FollowService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FeedPushFanoutTest {
+
+    private final FeedSubscriptionRegistry registry = mock(FeedSubscriptionRegistry.class);
+    private final FollowGraph followGraph = mock(FollowGraph.class);
+    private final FollowService followService = mock(FollowService.class);
+    private final FeedPushFanout fanout = new FeedPushFanout(registry, followGraph, followService);
+
+    private final UUID author = UUID.randomUUID();
+    private final UUID follower = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(registry.hasSubscribers()).thenReturn(true);
+        when(followService.getFollowerIds(author)).thenReturn(List.of(follower));
+    }
+
+    @Test
+    void pushesRootFinchesToFollowers() {
+        fanout.onFinchCreated(new FinchCreatedEvent(UUID.randomUUID(), author, null, null, Instant.now()));
+
+        verify(registry).publish(eq(follower), any(FeedNotification.class));
+    }
+
+    @Test
+    void doesNotPushReplies() {
+        fanout.onFinchCreated(new FinchCreatedEvent(UUID.randomUUID(), author, UUID.randomUUID(), null, Instant.now()));
+
+        verify(registry, never()).publish(any(), any());
+    }
+}
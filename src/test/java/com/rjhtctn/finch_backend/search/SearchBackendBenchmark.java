@@ -0,0 +1,115 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.model.Finch;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.service.FollowService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.*;
+
+/**
+ * Compares the search backends on a seeded local database. Runs only on request:
+ * {@code mvn test -Dtest=SearchBackendBenchmark -Dfinch.benchmark=true}, with {@code DB_URL} pointing at a
+ * scratch schema. Seeding is skipped when the benchmark users already exist.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "finch.benchmark", matches = "true")
+class SearchBackendBenchmark {
+
+    private static final int USERS = Integer.getInteger("finch.benchmark.users", 2_000);
+    private static final int FINCHES = Integer.getInteger("finch.benchmark.finches", 100_000);
+    private static final int WARMUP = 20;
+    private static final int RUNS = 200;
+    private static final String[] WORDS = {
+            "kahve", "deniz", "istanbul", "futbol", "yazılım", "java", "spring", "müzik", "kitap", "sinema",
+            "yağmur", "bahar", "tatil", "proje", "kod", "oyun", "sabah", "akşam", "haber", "finch"
+    };
+    private static final List<String> QUERIES = List.of("kahve", "istanbul deniz", "java spring", "müzik", "xyzzy");
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private FinchRepository finchRepository;
+    @Autowired private FollowService followService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private SearchIndex searchIndex;
+    @Autowired private SearchIndexer searchIndexer;
+
+    @Test
+    void compareBackends() {
+        User viewer = seed();
+
+        FullTextSearchBackend fullText = new FullTextSearchBackend(userRepository, finchRepository, jdbcTemplate);
+        fullText.createIndexes();
+        searchIndexer.rebuild();
+
+        List<SearchBackend> backends = List.of(
+                new LikeSearchBackend(userRepository, finchRepository),
+                fullText,
+                new LuceneSearchBackend(searchIndex, followService, userRepository, finchRepository));
+
+        Pageable page = PageRequest.of(0, 20);
+        System.out.printf("%-10s %-18s %10s %10s %10s %8s%n", "backend", "query", "p50 ms", "p95 ms", "p99 ms", "hits");
+        for (SearchBackend backend : backends) {
+            for (String query : QUERIES) {
+                for (int i = 0; i < WARMUP; i++) backend.searchFinches(query, viewer.getId(), page);
+
+                long[] nanos = new long[RUNS];
+                long hits = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    long started = System.nanoTime();
+                    hits = backend.searchFinches(query, viewer.getId(), page).getTotalElements();
+                    nanos[i] = System.nanoTime() - started;
+                }
+                Arrays.sort(nanos);
+                System.out.printf("%-10s %-18s %10.2f %10.2f %10.2f %8d%n", backend.name(), query,
+                        millis(nanos, 0.50), millis(nanos, 0.95), millis(nanos, 0.99), hits);
+            }
+        }
+    }
+
+    private User seed() {
+        Optional<User> existing = userRepository.findByUsername("bench_0");
+        if (existing.isPresent()) return existing.get();
+
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("bench_" + i);
+            user.setEmail("bench_" + i + "@example.com");
+            user.setPassword("x");
+            user.setFirstName(WORDS[random.nextInt(WORDS.length)]);
+            user.setPrivate(i % 10 == 0);
+            user.setEnabled(true);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Finch> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < FINCHES; i++) {
+            StringBuilder content = new StringBuilder();
+            int words = 5 + random.nextInt(15);
+            for (int w = 0; w < words; w++) content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            Finch finch = new Finch();
+            finch.setUser(users.get(random.nextInt(users.size())));
+            finch.setContent(content.toString().trim());
+            batch.add(finch);
+            if (batch.size() == 1_000) {
+                finchRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        finchRepository.saveAll(batch);
+        return users.get(0);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.rjhtctn.finch_backend.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T12:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new SearchIndex(dir.toString());
+        index.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void hidesPrivateAuthorsUnlessViewerIsThemOrFollowsThem() {
+        UUID viewer = UUID.randomUUID();
+        UUID publicAuthor = UUID.randomUUID();
+        UUID followedPrivate = UUID.randomUUID();
+        UUID strangerPrivate = UUID.randomUUID();
+        UUID publicFinch = finch(publicAuthor, false, "hello from the open", NOW);
+        UUID followedFinch = finch(followedPrivate, true, "hello from a friend", NOW);
+        UUID hiddenFinch = finch(strangerPrivate, true, "hello from a stranger", NOW);
+        index.refresh();
+
+        Set<UUID> seen = Set.copyOf(search(viewer, Set.of(followedPrivate), "hello", 10).ids());
+        assertEquals(Set.of(publicFinch, followedFinch), seen);
+
+        Set<UUID> ownView = Set.copyOf(search(strangerPrivate, Set.of(), "hello", 10).ids());
+        assertEquals(Set.of(publicFinch, hiddenFinch), ownView);
+    }
+
+    @Test
+    void cursorWalksEveryHitOnceNewestFirst() {
+        UUID author = UUID.randomUUID();
+        List<UUID> newestFirst = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            newestFirst.add(0, finch(author, false, "paging test", NOW.plusSeconds(i)));
+        }
+        index.refresh();
+
+        List<UUID> walked = new ArrayList<>();
+        SearchCursor cursor = null;
+        int pages = 0;
+        do {
+            SearchHits hits = index.search(SearchIndex.Kind.FINCH, "paging", UUID.randomUUID(), Set.of(), cursor, 2);
+            walked.addAll(hits.ids());
+            cursor = SearchCursor.decode(hits.nextCursor());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(newestFirst, walked);
+    }
+
+    private UUID finch(UUID authorId, boolean authorPrivate, String content, Instant createdAt) {
+        UUID id = UUID.randomUUID();
+        index.upsertFinch(id, authorId, null, authorPrivate, content, createdAt);
+        return id;
+    }
+
+    private SearchHits search(UUID viewerId, Set<UUID> followingIds, String text, int size) {
+        return index.search(SearchIndex.Kind.FINCH, text, viewerId, followingIds, null, size);
+    }
+}
@@ -0,0 +1,38 @@
+package com.rjhtctn.finch_backend.search;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramsTest {
+
+    @Test
+    void splitsAndPadsWords() {
+        assertEquals(List.of("merhaba", "kod"), Trigrams.words("Merhaba, KOD!"));
+        assertEquals(Set.of(" ko", "kod", "od "), Trigrams.of("kod"));
+    }
+
+    @Test
+    void distanceIsExactWithinBound() {
+        assertEquals(0, Trigrams.distance("finch", "finch", 2));
+        assertEquals(1, Trigrams.distance("finch", "fnch", 2));
+        assertEquals(3, Trigrams.distance("kitten", "sitting", 3));
+        assertEquals(2, Trigrams.distance("flaw", "lawn", 2));
+    }
+
+    @Test
+    void distanceStopsAboveBound() {
+        assertEquals(2, Trigrams.distance("kitten", "sitting", 1));
+        assertEquals(3, Trigrams.distance("a", "abcdef", 2));
+    }
+
+    @Test
+    void everyAllowedEditKeepsATrigramInCommon() {
+        for (String word : List.of("kodu", "kodlar", "kodlama")) {
+            int shared = Trigrams.of(word).size() - 3 * Trigrams.allowedEdits(word);
+            assertTrue(shared >= 1, word);
+        }
+    }
+}
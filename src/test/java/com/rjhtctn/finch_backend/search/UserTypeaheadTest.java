@@ -0,0 +1,73 @@
+package com.rjhtctn.finch_backend.search;
+
+import com.rjhtctn.finch_backend.event.UserUpdatedEvent;
+import com.rjhtctn.finch_backend.graph.FollowGraph;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserTypeaheadTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final FollowGraph followGraph = mock(FollowGraph.class);
+    private final UserTypeahead typeahead = new UserTypeahead(userRepository, followGraph);
+
+    private final UUID viewer = UUID.randomUUID();
+
+    @Test
+    void ranksFollowedUsersFirstThenByFollowerCount() {
+        User alice = user("alice", false);
+        User alina = user("alina", false);
+        User alvin = user("alvin", false);
+        User hidden = user("alfred", true);
+        load(alice, alina, alvin, hidden, user("bob", false));
+        when(followGraph.followerCount(alice.getId())).thenReturn(1);
+        when(followGraph.followerCount(alina.getId())).thenReturn(10);
+        when(followGraph.followerCount(alvin.getId())).thenReturn(5);
+        when(followGraph.followingIds(viewer)).thenReturn(List.of(alice.getId()));
+
+        assertEquals(List.of("alice", "alina", "alvin"), usernames(typeahead.complete("Al", viewer, 10)));
+        assertEquals(List.of("alice", "alina"), usernames(typeahead.complete("al", viewer, 2)));
+    }
+
+    @Test
+    void followsProfileChangesFromUserEvents() {
+        User user = user("oldname", false);
+        load(user);
+        when(followGraph.followingIds(viewer)).thenReturn(List.of());
+
+        user.setUsername("newname");
+        user.setFirstName("Zoe");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        typeahead.onUserUpdated(new UserUpdatedEvent(user.getId()));
+
+        assertTrue(typeahead.complete("old", viewer, 10).isEmpty());
+        assertEquals(List.of("newname"), usernames(typeahead.complete("new", viewer, 10)));
+        assertEquals(List.of("newname"), usernames(typeahead.complete("zo", viewer, 10)));
+    }
+
+    private void load(User... users) {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(any(), any())).thenReturn(List.of(users));
+        typeahead.load();
+    }
+
+    private static List<String> usernames(List<UserTypeahead.Profile> profiles) {
+        return profiles.stream().map(UserTypeahead.Profile::username).toList();
+    }
+
+    private static User user(String username, boolean isPrivate) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setPrivate(isPrivate);
+        return user;
+    }
+}
@@ -0,0 +1,101 @@
+package com.rjhtctn.finch_backend.service;
+
+import com.rjhtctn.finch_backend.dto.search.CombinedSearchResponseDto;
+import com.rjhtctn.finch_backend.dto.user.UserResponseDto;
+import com.rjhtctn.finch_backend.model.User;
+import com.rjhtctn.finch_backend.repository.FinchRepository;
+import com.rjhtctn.finch_backend.repository.UserRepository;
+import com.rjhtctn.finch_backend.search.SearchBackend;
+import com.rjhtctn.finch_backend.search.SearchBranchExecutor;
+import com.rjhtctn.finch_backend.search.SearchIndex;
+import com.rjhtctn.finch_backend.search.TrigramIndex;
+import com.rjhtctn.finch_backend.search.UserTypeahead;
+import com.rjhtctn.finch_backend.security.AuthUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private final UserService userService = mock(UserService.class);
+    private final SearchBackend searchBackend = mock(SearchBackend.class);
+    private final SearchBranchExecutor executor = new SearchBranchExecutor(2, 2, 200);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final SearchService searchService = new SearchService(
+            mock(UserRepository.class), mock(FinchRepository.class), userService,
+            mock(FinchEnrichmentService.class), mock(FollowService.class), searchBackend,
+            mock(SearchIndex.class), mock(UserTypeahead.class), mock(TrigramIndex.class),
+            executor, mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsTheFinishedBranchWhenTheOtherMissesTheDeadline() {
+        User viewer = user("viewer");
+        when(userService.getCurrentUser(any())).thenReturn(viewer);
+        when(searchBackend.searchUsers(any(), any(), any())).thenReturn(new PageImpl<>(List.of(user("finchfan"))));
+        when(searchBackend.searchFinches(any(), any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return Page.empty();
+        });
+
+        long started = System.currentTimeMillis();
+        CombinedSearchResponseDto response = searchService.searchAll("finch", AuthUser.of(viewer), PageRequest.of(0, 10));
+
+        assertTrue(response.isPartial());
+        assertEquals(List.of("finchfan"), response.getUsers().stream().map(UserResponseDto::getUsername).toList());
+        assertTrue(response.getFinches().isEmpty());
+        assertTrue(System.currentTimeMillis() - started < 2_000);
+    }
+
+    @Test
+    void rejectsBranchesInsteadOfRunningThemOnTheCaller() {
+        SearchBranchExecutor saturated = new SearchBranchExecutor(1, 1, 200);
+        try {
+            saturated.submit(this::blockUntilReleased);
+            saturated.submit(this::blockUntilReleased);
+
+            Thread caller = Thread.currentThread();
+            var rejected = saturated.submit(() -> Thread.currentThread() == caller);
+
+            assertTrue(rejected.isCompletedExceptionally());
+            assertThrows(ExecutionException.class, rejected::get);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    private boolean blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,86 @@
+package com.rjhtctn.finch_backend.timeline;
+
+import com.rjhtctn.finch_backend.dto.feed.FeedCursor;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HomeTimelineTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T12:00:00Z");
+
+    private final UUID actor = UUID.randomUUID();
+
+    @Test
+    void keepsEntriesNewestFirstWhateverTheInsertOrder() {
+        HomeTimeline timeline = new HomeTimeline(10);
+        timeline.fill(List.of(), true);
+        TimelineEntry older = finch(NOW.minusSeconds(10));
+        TimelineEntry newest = finch(NOW);
+        TimelineEntry middle = finch(NOW.minusSeconds(5));
+        TimelineEntry repost = new TimelineEntry(older.finchId(), UUID.randomUUID(), 7L, NOW.minusSeconds(5));
+
+        timeline.add(older);
+        timeline.add(newest);
+        timeline.add(repost);
+        timeline.add(middle);
+
+        assertEquals(List.of(newest, middle, repost, older), timeline.read(FeedCursor.START, 10));
+    }
+
+    @Test
+    void ignoresDuplicatesWithoutBumpingTheVersion() {
+        HomeTimeline timeline = new HomeTimeline(10);
+        TimelineEntry entry = finch(NOW);
+        timeline.fill(List.of(entry), true);
+        long version = timeline.version();
+
+        timeline.add(entry);
+        timeline.add(new TimelineEntry(entry.finchId(), entry.actorId(), null, entry.createdAt()));
+
+        assertEquals(version, timeline.version());
+        assertEquals(List.of(entry), timeline.read(FeedCursor.START, 10));
+    }
+
+    @Test
+    void dropsTheOldestEntriesPastTheCapacity() {
+        HomeTimeline timeline = new HomeTimeline(3);
+        timeline.fill(List.of(), true);
+        TimelineEntry oldest = finch(NOW.minusSeconds(3));
+        timeline.add(oldest);
+        timeline.add(finch(NOW.minusSeconds(2)));
+        timeline.add(finch(NOW.minusSeconds(1)));
+        TimelineEntry newest = finch(NOW);
+
+        timeline.add(newest);
+        timeline.add(finch(NOW.minusSeconds(10)));
+
+        List<TimelineEntry> page = timeline.read(FeedCursor.START, 3);
+        assertEquals(3, page.size());
+        assertEquals(newest, page.get(0));
+        assertFalse(page.contains(oldest));
+        assertNull(timeline.read(FeedCursor.START, 4), "history past the capacity must come from the database");
+    }
+
+    @Test
+    void storeRemovesAFinchOnlyFromTheGivenOwners() {
+        HomeTimelineStore store = new HomeTimelineStore(10, 100);
+        UUID follower = UUID.randomUUID();
+        UUID stranger = UUID.randomUUID();
+        TimelineEntry entry = finch(NOW);
+        store.timelineFor(follower).fill(List.of(entry), true);
+        store.timelineFor(stranger).fill(List.of(entry), true);
+
+        store.removeFinchIfResident(List.of(follower, UUID.randomUUID()), entry.finchId());
+
+        assertEquals(List.of(), store.timelineFor(follower).read(FeedCursor.START, 10));
+        assertEquals(List.of(entry), store.timelineFor(stranger).read(FeedCursor.START, 10));
+    }
+
+    private TimelineEntry finch(Instant createdAt) {
+        return new TimelineEntry(UUID.randomUUID(), actor, null, createdAt);
+    }
+}
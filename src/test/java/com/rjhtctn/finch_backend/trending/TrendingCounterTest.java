@@ -0,0 +1,99 @@
+package com.rjhtctn.finch_backend.trending;
+
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingCounterTest {
+
+    private final FakeClock clock = new FakeClock(Instant.parse("2025-01-01T12:00:00Z"));
+
+    private final TrendingCounter<String> counter = new TrendingCounter<>(
+            clock, Duration.ofMinutes(1).toMillis(), 60, 4, 1024, 3, String::hashCode);
+
+    @Test
+    void ranksKeysByWeightInWindow() {
+        add("a", 5);
+        add("b", 9);
+        add("c", 2);
+
+        List<TrendingCounter.Entry<String>> top = counter.top(3);
+
+        assertEquals(List.of("b", "a", "c"), top.stream().map(TrendingCounter.Entry::key).toList());
+        assertEquals(9, top.get(0).score());
+    }
+
+    @Test
+    void expiredBucketsLeaveTheWindow() {
+        add("old", 10);
+        clock.advance(Duration.ofMinutes(30));
+        add("new", 4);
+
+        assertEquals("old", counter.top(1).get(0).key());
+
+        clock.advance(Duration.ofMinutes(31));
+
+        List<TrendingCounter.Entry<String>> top = counter.top(2);
+        assertEquals(1, top.size());
+        assertEquals("new", top.get(0).key());
+        assertEquals(0, counter.estimate("old"));
+    }
+
+    @Test
+    void heavierKeyDisplacesWeakestCandidate() {
+        add("a", 3);
+        add("b", 2);
+        add("c", 1);
+        add("d", 4);
+
+        assertEquals(List.of("d", "a", "b"), counter.top(5).stream().map(TrendingCounter.Entry::key).toList());
+    }
+
+    @Test
+    void removedKeysDropOutOfTheTopList() {
+        add("a", 3);
+        add("b", 2);
+
+        counter.removeIf("a"::equals);
+
+        assertEquals(List.of("b"), counter.top(5).stream().map(TrendingCounter.Entry::key).toList());
+    }
+
+    private void add(String key, int times) {
+        for (int i = 0; i < times; i++) counter.add(key, 1);
+    }
+
+    private static final class FakeClock extends Clock {
+
+        private Instant now;
+
+        private FakeClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}